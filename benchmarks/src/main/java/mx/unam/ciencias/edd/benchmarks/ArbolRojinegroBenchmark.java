@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/* Benchmarks de ArbolRojinegro con enteros en varios tamaños. Las operaciones
+individuales se miden sobre un árbol ya lleno; agrega y elimina se miden en
+pares para que el árbol no cambie de tamaño. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArbolRojinegroBenchmark {
+
+	@Param({"1000", "100000", "1000000"})
+	public int elementos;
+
+	private ArbolRojinegro<Integer> arbol;
+	private Integer[] valores;
+	private int i;
+
+	@Setup(Level.Trial) public void prepara() {
+		Random r = new Random(elementos);
+		valores = new Integer[1 << 16];
+		for (int j = 0; j < valores.length; j++)
+			valores[j] = r.nextInt(elementos * 2);
+		arbol = new ArbolRojinegro<>();
+		for (int j = 0; j < elementos; j++)
+			arbol.agrega(r.nextInt(elementos * 2));
+	}
+
+	/* El siguiente valor pseudoaleatorio. */
+	private Integer siguiente() {
+		return valores[i++ & (valores.length - 1)];
+	}
+
+	@Benchmark public void agregaElimina() {
+		Integer v = siguiente();
+		arbol.agrega(v);
+		arbol.elimina(v);
+	}
+
+	@Benchmark public Object busca() {
+		return arbol.busca(siguiente());
+	}
+
+	@Benchmark @OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void recorreInOrder(Blackhole bh) {
+		for (Integer v : arbol)
+			bh.consume(v);
+	}
+
+	@Benchmark @OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public ArbolRojinegro<Integer> llena() {
+		Random r = new Random(elementos);
+		ArbolRojinegro<Integer> a = new ArbolRojinegro<>();
+		for (int j = 0; j < elementos; j++)
+			a.agrega(r.nextInt(elementos * 2));
+		return a;
+	}
+}
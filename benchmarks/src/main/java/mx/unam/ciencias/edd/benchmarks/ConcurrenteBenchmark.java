@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ListaSaltosConcurrente;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* Benchmarks de inserción concurrente de líneas: la lista de saltos
+concurrente contra un árbol rojinegro protegido con un candado. Cada hilo
+agrega líneas del corpus ACENTOS a la misma colección, que se vacía en cada
+iteración. Se corren con 1 y 4 hilos para ver cómo escala el rendimiento. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrenteBenchmark {
+
+	/* Estado de cada hilo: su posición en el corpus. */
+	@State(Scope.Thread)
+	public static class Hilo {
+		private int i;
+	}
+
+	private String[] lineas;
+	private ListaSaltosConcurrente<Linea> lista;
+	private ArbolRojinegro<Linea> arbol;
+
+	@Setup(Level.Trial) public void prepara() {
+		lineas = Corpus.ACENTOS.genera(1 << 16);
+	}
+
+	@Setup(Level.Iteration) public void vacia() {
+		lista = new ListaSaltosConcurrente<>();
+		arbol = new ArbolRojinegro<>();
+	}
+
+	/* La siguiente línea del corpus para el hilo. */
+	private Linea siguiente(Hilo h) {
+		return new Linea(lineas[h.i++ & (lineas.length - 1)]);
+	}
+
+	@Benchmark @Threads(1) public void listaUnHilo(Hilo h) {
+		lista.agrega(siguiente(h));
+	}
+
+	@Benchmark @Threads(4) public void listaCuatroHilos(Hilo h) {
+		lista.agrega(siguiente(h));
+	}
+
+	@Benchmark @Threads(1) public void arbolUnHilo(Hilo h) {
+		Linea l = siguiente(h);
+		synchronized (this) {
+			arbol.agrega(l);
+		}
+	}
+
+	@Benchmark @Threads(4) public void arbolCuatroHilos(Hilo h) {
+		Linea l = siguiente(h);
+		synchronized (this) {
+			arbol.agrega(l);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import java.util.Arrays;
+import java.util.Random;
+
+/* Generador de líneas de prueba para los benchmarks. Cada tipo de corpus
+ejercita un caso distinto del ordenador. Los corpus son deterministas. */
+public enum Corpus {
+
+	/* Palabras en español con acentos, eñes y mayúsculas. */
+	ACENTOS,
+	/* Líneas de miles de caracteres que comparten un prefijo largo. */
+	LARGAS,
+	/* Pocas líneas distintas repetidas muchas veces. */
+	REPETIDAS,
+	/* Líneas ya ordenadas. */
+	ORDENADAS,
+	/* Líneas ordenadas al revés. */
+	INVERSAS;
+
+	/* Sílabas para formar palabras. */
+	private static final String[] SILABAS = {
+		"a", "ca", "ción", "de", "él", "es", "ga", "la", "ma", "ña", "nú",
+		"o", "pa", "que", "rá", "sí", "ta", "tó", "ü", "Ú", "Ba", "Mé", "xi"
+	};
+
+	/* Genera n líneas de este tipo de corpus. */
+	public String[] genera(int n) {
+		Random r = new Random(n * 31 + ordinal());
+		String[] lineas = new String[n];
+		switch (this) {
+			case LARGAS:
+				String prefijo = frase(r, 400);
+				for (int i = 0; i < n; i++)
+					lineas[i] = prefijo + frase(r, 20);
+				break;
+			case REPETIDAS:
+				String[] distintas = new String[Math.max(1, n / 1000)];
+				for (int i = 0; i < distintas.length; i++)
+					distintas[i] = frase(r, 6);
+				for (int i = 0; i < n; i++)
+					lineas[i] = distintas[r.nextInt(distintas.length)];
+				break;
+			default:
+				for (int i = 0; i < n; i++)
+					lineas[i] = frase(r, 1 + r.nextInt(8));
+		}
+		if (this == ORDENADAS || this == INVERSAS) {
+			/* Ordenamos con el mismo orden del ordenador. */
+			Linea[] ls = new Linea[n];
+			for (int i = 0; i < n; i++)
+				ls[i] = new Linea(lineas[i]);
+			Arrays.sort(ls);
+			for (int i = 0; i < n; i++)
+				lineas[this == ORDENADAS ? i : n - 1 - i] = ls[i].get();
+		}
+		return lineas;
+	}
+
+	/* Genera una frase de p palabras. */
+	private static String frase(Random r, int p) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < p; i++) {
+			if (i > 0)
+				sb.append(r.nextInt(10) == 0 ? ", " : " ");
+			int s = 1 + r.nextInt(4);
+			for (int j = 0; j < s; j++)
+				sb.append(SILABAS[r.nextInt(SILABAS.length)]);
+		}
+		return sb.toString();
+	}
+}
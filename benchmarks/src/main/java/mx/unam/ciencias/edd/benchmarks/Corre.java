@@ -0,0 +1,28 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/* Punto de entrada de los benchmarks. Recibe las mismas opciones que JMH
+(por ejemplo una expresión regular con los benchmarks a correr) y siempre
+agrega el perfilador de GC, para ver cuánta memoria asigna cada operación. */
+public class Corre {
+
+	public static void main(String[] args) 
+		throws CommandLineOptionException, IOException, RunnerException {
+		CommandLineOptions opciones = new CommandLineOptions(args);
+		if (opciones.shouldHelp()) {
+			opciones.showHelp();
+			return;
+		}
+		new Runner(new OptionsBuilder()
+				   .parent(opciones)
+				   .addProfiler(GCProfiler.class)
+				   .build()).run();
+	}
+}
@@ -0,0 +1,75 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* Benchmarks de Linea.compareTo. Cada caso de comparación se ejercita con
+un par de líneas que se decide en ese caso. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineaBenchmark {
+
+	/* Longitud del prefijo común de las dos líneas. */
+	@Param({"8", "200"})
+	public int prefijo;
+
+	private Linea uno1, uno2;
+	private Linea dos1, dos2;
+	private Linea tres1, tres2;
+	private Linea igual1, igual2;
+
+	@Setup(Level.Trial) public void prepara() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < prefijo; i++)
+			sb.append("áBc, ".charAt(i % 5));
+		String p = sb.toString();
+		/* Se decide en el caso uno: letras distintas. */
+		uno1 = new Linea(p + "ana");
+		uno2 = new Linea(p + "ano");
+		/* Se decide en el caso dos: sólo cambian las mayúsculas. */
+		dos1 = new Linea(p + "Ana");
+		dos2 = new Linea(p + "ana");
+		/* Se decide en el caso tres: sólo cambia la puntuación. */
+		tres1 = new Linea(p + "a-na");
+		tres2 = new Linea(p + "a,na");
+		/* Líneas iguales: se recorren los tres casos. */
+		igual1 = new Linea(p + "ana");
+		igual2 = new Linea(p + "ana");
+	}
+
+	@Benchmark public int casoUno() {
+		return uno1.compareTo(uno2);
+	}
+
+	@Benchmark public int casoDos() {
+		return dos1.compareTo(dos2);
+	}
+
+	@Benchmark public int casoTres() {
+		return tres1.compareTo(tres2);
+	}
+
+	@Benchmark public int iguales() {
+		return igual1.compareTo(igual2);
+	}
+
+	@Benchmark public Linea construye() {
+		return new Linea("Él pidió una canción, ¿qué más?");
+	}
+}
@@ -0,0 +1,66 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.Pila;
+import mx.unam.ciencias.edd.PilaArreglo;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/* Benchmarks de Pila y Cola, con nodos y en arreglos circulares: se meten n
+elementos y luego se sacan todos. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MeteSacaBenchmark {
+
+	@Param({"16", "10000"})
+	public int elementos;
+
+	private final Integer elemento = 7;
+
+	@Benchmark public void pila(Blackhole bh) {
+		Pila<Integer> pila = new Pila<>();
+		for (int i = 0; i < elementos; i++)
+			pila.mete(elemento);
+		while (!pila.esVacia())
+			bh.consume(pila.saca());
+	}
+
+	@Benchmark public void cola(Blackhole bh) {
+		Cola<Integer> cola = new Cola<>();
+		for (int i = 0; i < elementos; i++)
+			cola.mete(elemento);
+		while (!cola.esVacia())
+			bh.consume(cola.saca());
+	}
+
+	@Benchmark public void pilaArreglo(Blackhole bh) {
+		PilaArreglo<Integer> pila = new PilaArreglo<>();
+		for (int i = 0; i < elementos; i++)
+			pila.mete(elemento);
+		while (!pila.esVacia())
+			bh.consume(pila.saca());
+	}
+
+	@Benchmark public void colaArreglo(Blackhole bh) {
+		ColaArreglo<Integer> cola = new ColaArreglo<>();
+		for (int i = 0; i < elementos; i++)
+			cola.mete(elemento);
+		while (!cola.esVacia())
+			bh.consume(cola.saca());
+	}
+}
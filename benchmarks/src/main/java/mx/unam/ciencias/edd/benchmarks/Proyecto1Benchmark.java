@@ -0,0 +1,65 @@
+package mx.unam.ciencias.edd.benchmarks;
+
+import mx.unam.ciencias.edd.proyecto1.Proyecto1;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/* Benchmark de extremo a extremo: Proyecto1 ordena un archivo generado y
+guarda el resultado con la bandera 'o'. */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Proyecto1Benchmark {
+
+	@Param({"ACENTOS", "LARGAS", "REPETIDAS", "ORDENADAS", "INVERSAS"})
+	public Corpus corpus;
+
+	@Param({"100000"})
+	public int lineas;
+
+	/* Banderas extra para Proyecto1, separadas por espacios. */
+	@Param({"", "-r"})
+	public String banderas;
+
+	private File entrada;
+	private File salida;
+
+	@Setup(Level.Trial) public void prepara() throws IOException {
+		entrada = File.createTempFile("benchmark-", ".txt");
+		salida = File.createTempFile("benchmark-", ".salida");
+		Files.write(entrada.toPath(), Arrays.asList(corpus.genera(lineas)));
+	}
+
+	@TearDown(Level.Trial) public void limpia() {
+		entrada.delete();
+		salida.delete();
+	}
+
+	@Benchmark public void ordena() {
+		String[] extra = banderas.isEmpty() ? new String[0] : banderas.split(" ");
+		String[] args = Arrays.copyOf(extra, extra.length + 3);
+		args[extra.length] = "-o";
+		args[extra.length + 1] = salida.getPath();
+		args[extra.length + 2] = entrada.getPath();
+		Proyecto1.main(args);
+	}
+}
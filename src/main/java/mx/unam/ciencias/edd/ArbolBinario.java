@@ -1,5 +1,9 @@
 package mx.unam.ciencias.edd;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.NoSuchElementException;
 
 /**
@@ -105,15 +109,22 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         @Override public int altura() {
             // Aquí va su código.
-			if (!hayIzquierdo() && !hayDerecho())
-				return 0;
-			else if (!hayIzquierdo())
-				return 1 + derecho.altura();
-			else if (!hayDerecho())
-				return 1 + izquierdo.altura();
-			else
-				return 1 + (izquierdo.altura() > derecho.altura() ?
-								izquierdo.altura() : derecho.altura());
+			/* Recorremos el subárbol por niveles; la altura es el número
+			de niveles menos uno. */
+			ColaArreglo<Vertice> cola = new ColaArreglo<>();
+			cola.mete(this);
+			int altura = -1;
+			while (!cola.esVacia()) {
+				altura++;
+				for (int n = cola.getElementos(); n > 0; n--) {
+					Vertice v = cola.saca();
+					if (v.izquierdo != null)
+						cola.mete(v.izquierdo);
+					if (v.derecho != null)
+						cola.mete(v.derecho);
+				}
+			}
+			return altura;
         }
 
         /**
@@ -122,7 +133,10 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
          */
         @Override public int profundidad() {
             // Aquí va su código.
-			return hayPadre() ? 1 + padre.profundidad() : 0;
+			int profundidad = 0;
+			for (Vertice v = padre; v != null; v = v.padre)
+				profundidad++;
+			return profundidad;
         }
 
         /**
@@ -135,41 +149,67 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         }
 
         /**
-         * Compara el vértice con otro objeto. La comparación es
-         * <em>recursiva</em>. Las clases que extiendan {@link Vertice} deben
-         * sobrecargar el método {@link Vertice#equals}.
+         * Compara el vértice con otro objeto. La comparación incluye a los
+         * descendientes, pero no es recursiva: los pares de vértices por
+         * comparar se guardan en una pila. Las clases que extiendan {@link
+         * Vertice} deben sobrecargar el método {@link
+         * Vertice#igualSinDescendientes}.
          * @param objeto el objeto con el cual se comparará el vértice.
          * @return <code>true</code> si el objeto es instancia de la clase
          *         {@link Vertice}, su elemento es igual al elemento de éste
-         *         vértice, y los descendientes de ambos son recursivamente
-         *         iguales; <code>false</code> en otro caso.
+         *         vértice, y los descendientes de ambos son iguales;
+         *         <code>false</code> en otro caso.
          */
         @Override public boolean equals(Object objeto) {
             if (objeto == null || getClass() != objeto.getClass())
                 return false;
             @SuppressWarnings("unchecked") Vertice vertice = (Vertice)objeto;
             // Aquí va su código.
-			if (elemento != null && vertice.elemento != null) {
-				if (!elemento.equals(vertice.elemento)) 
+			PilaArreglo<Vertice> pendientes = new PilaArreglo<>();
+			pendientes.mete(this);
+			pendientes.mete(vertice);
+			while (!pendientes.esVacia()) {
+				Vertice b = pendientes.saca();
+				Vertice a = pendientes.saca();
+				if (a.getClass() != b.getClass() || !a.igualSinDescendientes(b))
+					return false;
+				if ((a.izquierdo == null) != (b.izquierdo == null) ||
+					(a.derecho == null) != (b.derecho == null))
 					return false;
-			} else if (elemento == null & vertice.elemento == null) {
-			} else 
-				return false;
-			if (!hayDerecho() && !hayIzquierdo() && 
-						!vertice.hayDerecho() && !vertice.hayIzquierdo())
-				return true;
-			else if (hayDerecho() && hayIzquierdo() && 
-							vertice.hayDerecho() && vertice.hayIzquierdo())
-				return izquierdo.equals(vertice.izquierdo) 
-								&& derecho.equals(vertice.derecho);
-			else if (hayDerecho() && vertice.hayDerecho() &&
-							!hayIzquierdo() && !vertice.hayIzquierdo())
-				return derecho.equals(vertice.derecho);
-			else if (hayIzquierdo() && vertice.hayIzquierdo() &&
-							!hayDerecho() && !vertice.hayDerecho())
-				return izquierdo.equals(vertice.izquierdo);
-			else 
-				return false;
+				if (a.izquierdo != null) {
+					pendientes.mete(a.izquierdo);
+					pendientes.mete(b.izquierdo);
+				}
+				if (a.derecho != null) {
+					pendientes.mete(a.derecho);
+					pendientes.mete(b.derecho);
+				}
+			}
+			return true;
+        }
+
+        /**
+         * Regresa un código hash del vértice, consistente con {@link #equals}:
+         * dos vértices iguales tienen elementos iguales.
+         * @return el código hash del elemento del vértice.
+         */
+        @Override public int hashCode() {
+			return elemento == null ? 0 : elemento.hashCode();
+        }
+
+        /**
+         * Compara el contenido del vértice con el de otro vértice de la misma
+         * clase, sin tomar en cuenta a sus descendientes. Las clases que
+         * extiendan {@link Vertice} y guarden más información deben
+         * sobrecargar este método.
+         * @param vertice el vértice con el que se compara.
+         * @return <code>true</code> si los elementos de ambos vértices son
+         *         iguales, o ambos <code>null</code>; <code>false</code> en
+         *         otro caso.
+         */
+        protected boolean igualSinDescendientes(Vertice vertice) {
+			return elemento == null ? vertice.elemento == null :
+				elemento.equals(vertice.elemento);
         }
 
         /**
@@ -182,6 +222,25 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
         }
     }
 
+    /* Clase interna privada para los vértices que faltan por escribir en la
+       representación en cadena del árbol. */
+    private class Pendiente {
+
+        /* El vértice por escribir. */
+        private Vertice vertice;
+        /* El nivel del vértice. */
+        private int nivel;
+        /* El conector que va antes del vértice, o null si es la raíz. */
+        private String conector;
+
+        /* Inicializa el vértice pendiente. */
+        public Pendiente(Vertice vertice, int nivel, String conector) {
+			this.vertice = vertice;
+			this.nivel = nivel;
+			this.conector = conector;
+        }
+    }
+
     /** La raíz del árbol. */
     protected Vertice raiz;
     /** El número de elementos */
@@ -260,14 +319,20 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
 		return esVacia() ? null : busca(elemento, raiz);
     }
 
-	// Metodo auxiliar para hacer recursion en busca()
-	private VerticeArbolBinario<T> busca(T elemento, Vertice v) {
-		if (v.elemento.equals(elemento))
-			return v;
-		VerticeArbolBinario v1 = v.hayIzquierdo() ?
-									busca(elemento, v.izquierdo) : null;
-		return v1 != null ? v1 : 
-					v.hayDerecho() ? busca(elemento, v.derecho) : null;		
+	// Metodo auxiliar para busca(): recorre en pre-order con una pila.
+	private VerticeArbolBinario<T> busca(T elemento, Vertice raiz) {
+		PilaArreglo<Vertice> pendientes = new PilaArreglo<>();
+		pendientes.mete(raiz);
+		while (!pendientes.esVacia()) {
+			Vertice v = pendientes.saca();
+			if (v.elemento.equals(elemento))
+				return v;
+			if (v.derecho != null)
+				pendientes.mete(v.derecho);
+			if (v.izquierdo != null)
+				pendientes.mete(v.izquierdo);
+		}
+		return null;
 	}
 
     /**
@@ -327,47 +392,50 @@ public abstract class ArbolBinario<T> implements Coleccion<T> {
      */
     @Override public String toString() {
         // Aquí va su código.
-		if (esVacia())
-			return "";
-		int[] arreglo = new int[altura()+1];
-		for (int i = 0; i < altura() + 1; i++)  
-			arreglo[i] = 0;
-		return toString(raiz, 0, arreglo);
+		StringWriter cadena = new StringWriter();
+		try {
+			escribe(cadena);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return cadena.toString();
     }
 
-	// Método auxiliar para crear la cadena antes de un vértice
-	private String dibujaEspacios(int nivel, int[] arreglo) {
-		String s = "";
-		for (int i = 0; i < nivel; i++) 
-			s += arreglo[i] == 1 ? "│  " : "   ";
-		return s;
-	}
-
-	// Método auxiliar para hacer toString recursivo
-	private String toString(Vertice v, int nivel, int[] arreglo) {
-		String s = v.toString() + "\n";
-		arreglo[nivel] = 1;
-		if (v.hayDerecho() && v.hayIzquierdo()) {
-			s += dibujaEspacios(nivel, arreglo);
-			s += "├─›";
-			s += toString(v.izquierdo, nivel + 1, arreglo);
-			s += dibujaEspacios(nivel, arreglo);
-			s += "└─»";
-			arreglo[nivel] = 0;
-			s += toString(v.derecho, nivel + 1, arreglo);
-		} else if (v.hayIzquierdo()) {
-			s += dibujaEspacios(nivel, arreglo);
-			s += "└─›";
-			arreglo[nivel] = 0;
-			s += toString(v.izquierdo, nivel + 1, arreglo);
-		} else if (v.hayDerecho()) {
-			s += dibujaEspacios(nivel, arreglo);
-			s += "└─»";
-			arreglo[nivel] = 0;
-			s += toString(v.derecho, nivel + 1, arreglo);
+    /**
+     * Escribe la representación en cadena del árbol en la salida recibida,
+     * vértice por vértice, sin construir la cadena completa. El recorrido no
+     * es recursivo, así que sirve para árboles de cualquier altura. La salida
+     * no se vacía ni se cierra; conviene que tenga un buffer.
+     * @param salida la salida donde se escribe el árbol.
+     * @throws IOException si ocurre un error al escribir.
+     */
+    public void escribe(Writer salida) throws IOException {
+		if (esVacia())
+			return;
+		/* ramas[i] nos dice si en el nivel i todavía falta dibujar un
+		hijo derecho, y por lo tanto una rama vertical. */
+		boolean[] ramas = new boolean[altura() + 1];
+		PilaArreglo<Pendiente> pendientes = new PilaArreglo<>();
+		pendientes.mete(new Pendiente(raiz, 0, null));
+		while (!pendientes.esVacia()) {
+			Pendiente p = pendientes.saca();
+			Vertice v = p.vertice;
+			if (p.conector != null) {
+				ramas[p.nivel - 1] = p.conector.equals("├─›");
+				for (int i = 0; i < p.nivel - 1; i++)
+					salida.write(ramas[i] ? "│  " : "   ");
+				salida.write(p.conector);
+			}
+			salida.write(v.toString());
+			salida.write('\n');
+			/* El izquierdo se mete al último para dibujarlo primero. */
+			if (v.derecho != null)
+				pendientes.mete(new Pendiente(v.derecho, p.nivel + 1, "└─»"));
+			if (v.izquierdo != null)
+				pendientes.mete(new Pendiente(v.izquierdo, p.nivel + 1,
+											  v.derecho != null ? "├─›" : "└─›"));
 		}
-		return s;
-	}
+    }
 
     /**
      * Convierte el vértice (visto como instancia de {@link
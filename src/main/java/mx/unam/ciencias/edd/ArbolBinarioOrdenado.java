@@ -1,6 +1,10 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * <p>Clase para árboles binarios ordenados. Los árboles son genéricos, pero
@@ -17,42 +21,157 @@ import java.util.Iterator;
 public class ArbolBinarioOrdenado<T extends Comparable<T>>
     extends ArbolBinario<T> {
 
-    /* Clase interna privada para iteradores. */
+    /* Clase interna privada para iteradores. El iterador sube y baja por
+       los padres de los vértices, así que no usa memoria extra. */
     private class Iterador implements Iterator<T> {
 
-        /* Pila para recorrer los vértices en DFS in-order. */
-        private Pila<Vertice> pila;
+        /* El vértice del siguiente elemento, o null si ya no hay. */
+        private Vertice siguiente;
+        /* Si el recorrido es in-order inverso, de mayor a menor. */
+        private boolean inverso;
 
         /* Inicializa al iterador. */
-        public Iterador() {
-            // Aquí va su código.
-			pila = new Pila<>();
-			Vertice v = raiz;
+        public Iterador(boolean inverso) {
+			this.inverso = inverso;
+			siguiente = raiz == null ? null : extremo(raiz);
+        }
+
+        /* Inicializa al iterador para que empiece en el vértice recibido. */
+        public Iterador(Vertice inicio, boolean inverso) {
+			this.inverso = inverso;
+			siguiente = inicio;
+        }
+
+        /* Regresa el primer vértice del recorrido en el subárbol del vértice
+           recibido: el de más a la izquierda en orden, el de más a la
+           derecha en orden inverso. */
+        private Vertice extremo(Vertice vertice) {
+			Vertice v = inverso ? vertice.derecho : vertice.izquierdo;
 			while (v != null) {
-				pila.mete(v);
-				v = v.izquierdo;
+				vertice = v;
+				v = inverso ? vertice.derecho : vertice.izquierdo;
 			}
+			return vertice;
         }
 
         /* Nos dice si hay un elemento siguiente. */
         @Override public boolean hasNext() {
             // Aquí va su código.
-			return !pila.esVacia();
+			return siguiente != null;
         }
 
         /* Regresa el siguiente elemento en orden DFS in-order. */
         @Override public T next() {
             // Aquí va su código.
-			Vertice v = pila.saca();
-			if (v.hayDerecho()) {
-				pila.mete(v.derecho);
-				Vertice vertice = v.derecho.izquierdo;
-					while (vertice != null) {
-						pila.mete(vertice);
-						vertice = vertice.izquierdo;
+			return siguienteVertice().elemento;
+        }
+
+        /* Regresa el vértice del siguiente elemento en orden DFS in-order. */
+        public Vertice siguienteVertice() {
+			if (siguiente == null)
+				throw new NoSuchElementException();
+			Vertice v = siguiente;
+			Vertice rama = inverso ? v.izquierdo : v.derecho;
+			if (rama != null)
+				siguiente = extremo(rama);
+			else {
+				/* Subimos mientras vengamos de la rama ya recorrida. */
+				Vertice u = v;
+				siguiente = u.padre;
+				while (siguiente != null &&
+					   u == (inverso ? siguiente.izquierdo : siguiente.derecho)) {
+					u = siguiente;
+					siguiente = siguiente.padre;
 				}
 			}
-			return v.elemento;
+			return v;
+        }
+    }
+
+    /* Clase interna privada para divisores (spliterators). Un divisor
+       recorre en orden los vértices desde actual hasta antes de cerca (o
+       hasta el final si cerca es null), y se parte por los subárboles: la
+       primera vez por la raíz, y después por el subárbol derecho de actual o
+       el izquierdo de cerca. */
+    private class Divisor implements Spliterator<T> {
+
+        /* El vértice del siguiente elemento. */
+        private Vertice actual;
+        /* El primer vértice que ya no le toca al divisor, o null. */
+        private Vertice cerca;
+        /* 0 si no se ha partido, 1 si es la parte derecha de una partición y
+           -1 si es la parte izquierda. */
+        private int lado;
+        /* El número estimado de elementos; exacto si no se ha partido. */
+        private long estimado;
+
+        /* Inicializa al divisor. */
+        public Divisor(Vertice actual, Vertice cerca, int lado, long estimado) {
+			this.actual = actual;
+			this.cerca = cerca;
+			this.lado = lado;
+			this.estimado = estimado;
+        }
+
+        /* Recorre el siguiente elemento, si hay. */
+        @Override public boolean tryAdvance(Consumer<? super T> accion) {
+			if (accion == null)
+				throw new NullPointerException();
+			if (actual == null || actual == cerca)
+				return false;
+			Vertice v = actual;
+			actual = sucesor(v);
+			accion.accept(v.elemento);
+			return true;
+        }
+
+        /* Recorre todos los elementos que quedan. */
+        @Override public void forEachRemaining(Consumer<? super T> accion) {
+			if (accion == null)
+				throw new NullPointerException();
+			Vertice v = actual;
+			actual = cerca;
+			while (v != null && v != cerca) {
+				accion.accept(v.elemento);
+				v = sucesor(v);
+			}
+        }
+
+        /* Parte al divisor por un subárbol; regresa la parte izquierda y se
+           queda con la derecha. */
+        @Override public Spliterator<T> trySplit() {
+			Vertice e = actual;
+			Vertice f = cerca;
+			Vertice s = (e == null || e == f) ? null :
+				lado == 0 ? raiz :
+				lado > 0 ? e.derecho :
+				f != null ? f.izquierdo : null;
+			/* Sólo partimos si el vértice está estrictamente entre actual
+			   y cerca. Lo decidimos por la forma del árbol y no comparando
+			   elementos, porque con elementos repetidos o con un orden que
+			   no es transitivo la comparación puede fallar. */
+			if (s == null || !antes(e, s) || (f != null && !antes(s, f)))
+				return null;
+			lado = 1;
+			actual = s;
+			estimado >>>= 1;
+			return new Divisor(e, s, -1, estimado);
+        }
+
+        /* Regresa el número estimado de elementos. */
+        @Override public long estimateSize() {
+			return estimado;
+        }
+
+        /* Regresa las características del divisor. */
+        @Override public int characteristics() {
+			return (lado == 0 ? Spliterator.SIZED : 0) | Spliterator.ORDERED |
+				Spliterator.SORTED | Spliterator.NONNULL;
+        }
+
+        /* Los elementos están en su orden natural. */
+        @Override public Comparator<? super T> getComparator() {
+			return null;
         }
     }
 
@@ -96,28 +215,135 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 			raiz = v;
 			return;
 		}
-		agrega(raiz, v);
+		agregaVertice(v);
+    }
+
+    /**
+     * Agrega un vértice nuevo a un árbol no vacío, en el lugar que le toca
+     * bajando desde la raíz: un elemento igual a otros queda antes que ellos.
+     * Las clases herederas pueden buscar el lugar empezando en otro vértice;
+     * si el orden de los elementos es transitivo, el vértice nuevo termina en
+     * el mismo lugar, pero si no lo es puede terminar en otro.
+     * @param nuevo el vértice nuevo, sin padre ni hijos.
+     */
+    protected void agregaVertice(Vertice nuevo) {
+		agregaDesde(raiz, nuevo);
+    }
+
+    /**
+     * Compara el elemento de un vértice nuevo con el de un vértice del árbol,
+     * al buscar dónde agregarlo. Las clases herederas pueden usar lo que
+     * guarden en sus vértices para comparar más rápido, siempre que el
+     * resultado tenga el mismo signo que {@link Comparable#compareTo}.
+     * @param nuevo el vértice nuevo.
+     * @param vertice el vértice del árbol.
+     * @return un entero negativo, cero o positivo si el elemento del vértice
+     *         nuevo es menor, igual o mayor que el del vértice del árbol.
+     */
+    protected int compara(Vertice nuevo, Vertice vertice) {
+		return nuevo.elemento.compareTo(vertice.elemento);
+    }
+
+    /**
+     * Agrega un vértice nuevo en el subárbol de un vértice, bajando desde él
+     * sin recursión. El lugar del vértice nuevo debe estar dentro del
+     * subárbol.
+     * @param actual el vértice desde el que se baja.
+     * @param nuevo el vértice nuevo, sin padre ni hijos.
+     */
+    protected void agregaDesde(Vertice actual, Vertice nuevo) {
+		while (true) {
+			if (compara(nuevo, actual) <= 0) { 
+				if (actual.izquierdo == null) { 
+					actual.izquierdo = nuevo;
+					break;
+				}
+				actual = actual.izquierdo;
+			} else {
+				if (actual.derecho == null) {
+					actual.derecho = nuevo;
+					break;
+				}
+				actual = actual.derecho;
+			}
+		}
+		nuevo.padre = actual;
     }
 
-	// Metodo auxiliar para agrega
-	private void agrega(Vertice actual, Vertice nuevo) {
-		if (nuevo.elemento.compareTo(actual.elemento) <= 0) { 
-			if (actual.izquierdo == null) { 
-				actual.izquierdo = nuevo;
-				nuevo.padre = actual;
-				return;
-			} else 
-				agrega(actual.izquierdo, nuevo);			
-		} else {
-			if (actual.derecho == null) {
-				actual.derecho = nuevo;
-				nuevo.padre = actual;
-				return;
-			} else 
-				agrega(actual.derecho, nuevo);		
-		}	
+    /**
+     * Limpia el árbol y lo reconstruye con los elementos de la colección
+     * recibida, que se recorre con su iterador y debe regresarlos en orden.
+     * El árbol resultante está balanceado: todas sus hojas están en los dos
+     * últimos niveles. La construcción toma tiempo lineal y no compara
+     * elementos, así que si la colección no está ordenada el árbol no
+     * conserva su orden in-order.
+     * @param coleccion la colección ordenada con la que se construye el árbol.
+     * @throws IllegalArgumentException si la colección tiene un elemento
+     *         <code>null</code>.
+     */
+    public void construye(Coleccion<T> coleccion) {
+		construye(coleccion.iterator(), coleccion.getElementos());
+    }
+
+	// Método auxiliar para construir el árbol a partir de un iterador.
+	private void construye(Iterator<T> iterador, int n) {
+		limpia();
+		ultimoAgregado = null;
+		raiz = construyeSubarbol(iterador, n);
+		elementos = n;
+	}
+
+	// Método auxiliar que construye in-order un subárbol con n elementos.
+	private Vertice construyeSubarbol(Iterator<T> iterador, int n) {
+		if (n == 0)
+			return null;
+		int m = (n - 1) / 2;
+		Vertice izquierdo = construyeSubarbol(iterador, m);
+		T elemento = iterador.next();
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		Vertice v = nuevoVertice(elemento);
+		v.izquierdo = izquierdo;
+		if (izquierdo != null)
+			izquierdo.padre = v;
+		v.derecho = construyeSubarbol(iterador, n - 1 - m);
+		if (v.derecho != null)
+			v.derecho.padre = v;
+		return v;
 	}
 
+    /**
+     * Mezcla los elementos del árbol recibido con los de éste, y reconstruye
+     * éste árbol balanceado con todos ellos. El árbol recibido no cambia. La
+     * mezcla hace a lo más una comparación por elemento, y si dos elementos
+     * son iguales el de éste árbol queda antes.
+     * @param arbol el árbol cuyos elementos se mezclan con los de éste.
+     */
+    public void mezcla(ArbolBinarioOrdenado<T> arbol) {
+		Iterator<T> i1 = iterator();
+		Iterator<T> i2 = arbol.iterator();
+		int n = elementos + arbol.elementos;
+		construye(new Iterator<T>() {
+			private T e1 = i1.hasNext() ? i1.next() : null;
+			private T e2 = i2.hasNext() ? i2.next() : null;
+			@Override public boolean hasNext() {
+				return e1 != null || e2 != null;
+			}
+			@Override public T next() {
+				T t;
+				if (e1 != null && (e2 == null || e1.compareTo(e2) <= 0)) {
+					t = e1;
+					e1 = i1.hasNext() ? i1.next() : null;
+				} else if (e2 != null) {
+					t = e2;
+					e2 = i2.hasNext() ? i2.next() : null;
+				} else
+					throw new NoSuchElementException();
+				return t;
+			}
+		}, n);
+    }
+
     /**
      * Elimina un elemento. Si el elemento no está en el árbol, no hace nada; si
      * está varias veces, elimina el primero que encuentre (in-order). El árbol
@@ -176,7 +402,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 		if (u != null) 
 			u.padre = p;
 		if (p != null) {
-			if (vertice.equals(p.izquierdo)) 
+			if (vertice == p.izquierdo) 
 				p.izquierdo = u;
 			else
 				p.derecho = u;
@@ -198,12 +424,32 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 
 	// Método auxiliar para busca
 	private VerticeArbolBinario<T> busca(T elemento, Vertice v) {
-		if (v == null || v.elemento.equals(elemento))
-			return v;
-		else if (elemento.compareTo(v.elemento) < 0)
-			return busca(elemento, v.izquierdo);
-		else 
-			return busca(elemento, v.derecho);	
+		/* Los elementos que se comparan iguales pueden quedar de los dos
+		   lados después de girar el árbol; si hay empate se busca primero a
+		   la izquierda y los derechos pendientes se guardan en una pila. */
+		PilaArreglo<Vertice> pendientes = null;
+		while (true) {
+			while (v != null) {
+				if (v.elemento.equals(elemento))
+					return v;
+				int c = elemento.compareTo(v.elemento);
+				if (c < 0)
+					v = v.izquierdo;
+				else if (c > 0)
+					v = v.derecho;
+				else {
+					if (v.derecho != null) {
+						if (pendientes == null)
+							pendientes = new PilaArreglo<>();
+						pendientes.mete(v.derecho);
+					}
+					v = v.izquierdo;
+				}
+			}
+			if (pendientes == null || pendientes.esVacia())
+				return null;
+			v = pendientes.saca();
+		}
 	}
 
     /**
@@ -236,7 +482,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 		Vertice v = q.padre;
 		p.padre = v;
 		if (v != null) {
-			if (q.equals(v.izquierdo)) 
+			if (q == v.izquierdo) 
 				v.izquierdo = p;
 			else 
 				v.derecho = p;
@@ -265,7 +511,7 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
 		Vertice v = q.padre;
 		p.padre = v;
 		if (v != null) {
-			if (q.equals(v.izquierdo)) 
+			if (q == v.izquierdo) 
 				v.izquierdo = p;
 			else 
 				v.derecho = p;
@@ -287,17 +533,8 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsPreOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-		dfsPreOrder(accion, raiz);
+		dfs(accion, 0, false);
     }
-	
-	// Método auxiliar para DFS pre-order
-	private void dfsPreOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-		if (v == null)
-			return;
-		accion.actua(v);
-		dfsPreOrder(accion, v.izquierdo);
-		dfsPreOrder(accion, v.derecho);
-	}
 
     /**
      * Realiza un recorrido DFS <em>in-order</em> en el árbol, ejecutando la
@@ -306,17 +543,18 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsInOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-		dfsInOrder(accion, raiz);
+		dfs(accion, 1, false);
     }
 
-	// Método auxiliar para DFS in-order
-	private void dfsInOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-		if (v == null)
-			return;
-		dfsInOrder(accion, v.izquierdo);
-		accion.actua(v);
-		dfsInOrder(accion, v.derecho);
-	}
+    /**
+     * Realiza un recorrido DFS <em>in-order</em> inverso en el árbol, del
+     * mayor al menor elemento, ejecutando la acción recibida en cada elemento
+     * del árbol.
+     * @param accion la acción a realizar en cada elemento del árbol.
+     */
+    public void dfsInOrderInverso(AccionVerticeArbolBinario<T> accion) {
+		dfs(accion, 1, true);
+    }
 
     /**
      * Realiza un recorrido DFS <em>post-order</em> en el árbol, ejecutando la
@@ -325,16 +563,47 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      */
     public void dfsPostOrder(AccionVerticeArbolBinario<T> accion) {
         // Aquí va su código.
-		dfsPostOrder(accion, raiz);
+		dfs(accion, 2, false);
     }
 
-	// Método auxiliar para DFS post-order
-	private void dfsPostOrder(AccionVerticeArbolBinario<T> accion, Vertice v) {
-		if (v == null)
-			return;
-		dfsPostOrder(accion, v.izquierdo);
-		dfsPostOrder(accion, v.derecho);
-		accion.actua(v);
+	// Método auxiliar para los recorridos DFS. Sube y baja por los padres
+	// de los vértices, sin recursión ni memoria extra. El orden es 0 para
+	// pre-order, 1 para in-order y 2 para post-order; si es inverso, el
+	// derecho se visita antes que el izquierdo.
+	private void dfs(AccionVerticeArbolBinario<T> accion, int orden,
+					 boolean inverso) {
+		Vertice previo = null;
+		Vertice v = raiz;
+		while (v != null) {
+			Vertice primero = inverso ? v.derecho : v.izquierdo;
+			Vertice segundo = inverso ? v.izquierdo : v.derecho;
+			/* De dónde llegamos al vértice: de arriba, del primer hijo o
+			del segundo; coincide con el orden en que se visita. */
+			int lado = previo == v.padre ? 0 : previo == primero ? 1 : 2;
+			if (lado == 0) {
+				if (orden == 0)
+					accion.actua(v);
+				if (primero != null) {
+					previo = v;
+					v = primero;
+					continue;
+				}
+				lado = 1;
+			}
+			if (lado == 1) {
+				if (orden == 1)
+					accion.actua(v);
+				if (segundo != null) {
+					previo = v;
+					v = segundo;
+					continue;
+				}
+			}
+			if (orden == 2)
+				accion.actua(v);
+			previo = v;
+			v = v.padre;
+		}
 	}
 
     /**
@@ -342,6 +611,101 @@ public class ArbolBinarioOrdenado<T extends Comparable<T>>
      * @return un iterador para iterar el árbol.
      */
     @Override public Iterator<T> iterator() {
-        return new Iterador();
+        return new Iterador(false);
     }
+
+    /**
+     * Regresa un iterador que recorre el árbol a partir de un vértice, en
+     * orden o en orden inverso.
+     * @param vertice el vértice del primer elemento del recorrido.
+     * @param inverso si el recorrido es de mayor a menor.
+     * @return un iterador que empieza en el vértice recibido.
+     */
+    protected Iterator<T> iteradorDesde(Vertice vertice, boolean inverso) {
+        return new Iterador(vertice, inverso);
+    }
+
+    /**
+     * Regresa un iterador sobre los vértices del árbol, en orden o en orden
+     * inverso. Sirve a las clases herederas para leer lo que guardan en sus
+     * vértices sin volver a buscar cada elemento.
+     * @param inverso si el recorrido es de mayor a menor.
+     * @return un iterador sobre los vértices del árbol.
+     */
+    protected Iterator<Vertice> iteradorVertices(boolean inverso) {
+        Iterador iterador = new Iterador(inverso);
+        return new Iterator<Vertice>() {
+            @Override public boolean hasNext() {
+                return iterador.hasNext();
+            }
+            @Override public Vertice next() {
+                return iterador.siguienteVertice();
+            }
+        };
+    }
+
+    /**
+     * Regresa un divisor (<em>spliterator</em>) para recorrer el árbol en
+     * orden. El divisor se parte por subárboles, así que un flujo paralelo del
+     * árbol reparte el trabajo sin copiar los elementos.
+     * @return un divisor para recorrer el árbol en orden.
+     */
+    @Override public Spliterator<T> spliterator() {
+        Vertice primero = raiz;
+        if (primero != null)
+            while (primero.izquierdo != null)
+                primero = primero.izquierdo;
+        return new Divisor(primero, null, 0, elementos);
+    }
+
+    /**
+     * Regresa un iterador para iterar el árbol en orden inverso, del mayor al
+     * menor elemento. Los elementos iguales salen en el orden contrario al de
+     * {@link #iterator}.
+     * @return un iterador para iterar el árbol en orden inverso.
+     */
+    public Iterator<T> iteradorInverso() {
+        return new Iterador(true);
+    }
+
+	// Método auxiliar que nos dice si el vértice a está estrictamente antes
+	// que el vértice b en el recorrido in-order. Sube de los dos hasta su
+	// ancestro común, sin comparar elementos.
+	private boolean antes(Vertice a, Vertice b) {
+		int pa = a.profundidad();
+		int pb = b.profundidad();
+		/* Los hijos del ancestro común por los que se llega de a y de b;
+		   null si a o b es el ancestro común. */
+		Vertice ha = null, hb = null;
+		for (; pa > pb; pa--) {
+			ha = a;
+			a = a.padre;
+		}
+		for (; pb > pa; pb--) {
+			hb = b;
+			b = b.padre;
+		}
+		while (a != b) {
+			ha = a;
+			a = a.padre;
+			hb = b;
+			b = b.padre;
+		}
+		if (ha == null)
+			return hb != null && hb == a.derecho;
+		return ha == a.izquierdo;
+	}
+
+	// Método auxiliar que regresa el vértice siguiente in-order, o null.
+	private Vertice sucesor(Vertice v) {
+		if (v.derecho != null) {
+			v = v.derecho;
+			while (v.izquierdo != null)
+				v = v.izquierdo;
+			return v;
+		}
+		while (v.padre != null && v == v.padre.derecho)
+			v = v.padre;
+		return v.padre;
+	}
 }
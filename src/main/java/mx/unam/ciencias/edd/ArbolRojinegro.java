@@ -1,5 +1,8 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Clase para árboles rojinegros. Un árbol rojinegro cumple las siguientes
  * propiedades:
@@ -13,7 +16,9 @@ package mx.unam.ciencias.edd;
  *      mismo número de vértices NEGROS.</li>
  * </ol>
  *
- * Los árboles rojinegros se autobalancean.
+ * Los árboles rojinegros se autobalancean. Además, cada vértice guarda el
+ * número de vértices en su subárbol, así que el elemento con un índice dado y
+ * el índice de un elemento se obtienen en tiempo logarítmico.
  */
 public class ArbolRojinegro<T extends Comparable<T>>
     extends ArbolBinarioOrdenado<T> {
@@ -25,6 +30,10 @@ public class ArbolRojinegro<T extends Comparable<T>>
 
         /** El color del vértice. */
         public Color color;
+        /** El número de vértices con elemento en el subárbol del vértice. */
+        public int tamano;
+        /** El prefijo del elemento, si es {@link Prefijado}; si no, cero. */
+        public long prefijo;
 
         /**
          * Constructor único que recibe un elemento.
@@ -34,6 +43,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
             // Aquí va su código.
 			super(elemento);
 			color = Color.NINGUNO;
+			tamano = elemento == null ? 0 : 1;
+			prefijo = prefijo(elemento);
         }
 
         /**
@@ -54,25 +65,68 @@ public class ArbolRojinegro<T extends Comparable<T>>
         }
 
         /**
-         * Compara el vértice con otro objeto. La comparación es
-         * <em>recursiva</em>.
-         * @param objeto el objeto con el cual se comparará el vértice.
-         * @return <code>true</code> si el objeto es instancia de la clase
-         *         {@link VerticeRojinegro}, su elemento es igual al elemento de
-         *         éste vértice, los descendientes de ambos son recursivamente
-         *         iguales, y los colores son iguales; <code>false</code> en
-         *         otro caso.
+         * Compara el contenido del vértice con el de otro vértice rojinegro,
+         * sin tomar en cuenta a sus descendientes.
+         * @param vertice el vértice con el que se compara.
+         * @return <code>true</code> si los elementos y los colores de ambos
+         *         vértices son iguales; <code>false</code> en otro caso.
          */
-        @Override public boolean equals(Object objeto) {
-            if (objeto == null || getClass() != objeto.getClass())
-                return false;
-            @SuppressWarnings("unchecked")
-                VerticeRojinegro vertice = (VerticeRojinegro)objeto;
-            // Aquí va su código.
-			return (color == vertice.color && super.equals(vertice));
+        @Override protected boolean igualSinDescendientes(Vertice vertice) {
+			return color == ((VerticeRojinegro) vertice).color &&
+				super.igualSinDescendientes(vertice);
         }
     }
 
+    /* Los giros hechos al rebalancear. Los contadores del árbol los
+       comparte ArbolRojinegroArreglo. */
+    static final Contador ROTACIONES = new Contador("rotaciones");
+    /* Los casos al rebalancear después de agregar. */
+    static final Contador AGREGA_TIO_ROJO = new Contador("agrega_tio_rojo");
+    static final Contador AGREGA_CRUZADOS = new Contador("agrega_cruzados");
+    static final Contador AGREGA_GIRO = new Contador("agrega_giro");
+    /* Los casos al rebalancear después de eliminar. */
+    static final Contador ELIMINA_HERMANO_ROJO =
+        new Contador("elimina_hermano_rojo");
+    static final Contador ELIMINA_NEGROS = new Contador("elimina_negros");
+    static final Contador ELIMINA_PADRE_ROJO =
+        new Contador("elimina_padre_rojo");
+    static final Contador ELIMINA_SOBRINO_CRUZADO =
+        new Contador("elimina_sobrino_cruzado");
+    static final Contador ELIMINA_GIRO = new Contador("elimina_giro");
+    /* Las comparaciones decididas por los prefijos, sin comparar los
+       elementos. */
+    private static final Contador PREFIJOS = new Contador("prefijo");
+
+    /* El dedo: el vértice del último elemento agregado, o null si desde
+       entonces se eliminó algún elemento. */
+    private Vertice dedo;
+
+    /**
+     * Regresa los contadores de todos los árboles rojinegros, de vértices y
+     * sobre arreglos: los giros y cuántas veces se presentó cada caso al
+     * rebalancear después de agregar y de eliminar. Sólo cuentan mientras
+     * {@link Contador#activos} es <code>true</code>.
+     * @return los contadores de los árboles rojinegros.
+     */
+    public static Contador[] getContadores() {
+		return new Contador[] {
+			ROTACIONES, AGREGA_TIO_ROJO, AGREGA_CRUZADOS, AGREGA_GIRO,
+			ELIMINA_HERMANO_ROJO, ELIMINA_NEGROS, ELIMINA_PADRE_ROJO,
+			ELIMINA_SOBRINO_CRUZADO, ELIMINA_GIRO
+		};
+    }
+
+    /**
+     * Regresa el contador de las comparaciones que los árboles rojinegros
+     * decidieron por los prefijos de los elementos, sin llegar a {@link
+     * Comparable#compareTo}. Sólo cuenta mientras {@link Contador#activos}
+     * es <code>true</code>.
+     * @return el contador de las comparaciones decididas por prefijos.
+     */
+    public static Contador getPrefijos() {
+		return PREFIJOS;
+    }
+
     /**
      * Constructor sin parámetros. Para no perder el constructor sin parámetros
      * de {@link ArbolBinarioOrdenado}.
@@ -111,7 +165,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
      */
     public Color getColor(VerticeArbolBinario<T> vertice) {
         // Aquí va su código.
-		if (!vertice.getClass().getSimpleName().equals("VerticeRojinegro")) 
+		if (!(vertice instanceof ArbolRojinegro.VerticeRojinegro)) 
 			throw new ClassCastException();
 		VerticeRojinegro v = (VerticeRojinegro) vertice;
 		return v.color;
@@ -120,7 +174,9 @@ public class ArbolRojinegro<T extends Comparable<T>>
     /**
      * Agrega un nuevo elemento al árbol. El método invoca al método {@link
      * ArbolBinarioOrdenado#agrega}, y después balancea el árbol recoloreando
-     * vértices y girando el árbol como sea necesario.
+     * vértices y girando el árbol como sea necesario. Si el elemento va junto
+     * al último que se agregó, como al agregar elementos ya ordenados o en
+     * orden inverso, su lugar se encuentra con una o dos comparaciones.
      * @param elemento el elemento a agregar.
      */
     @Override public void agrega(T elemento) {
@@ -128,9 +184,52 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		super.agrega(elemento);
 		VerticeRojinegro v = (VerticeRojinegro) ultimoAgregado;
 		v.color = Color.ROJO;
+		for (Vertice p = v.padre; p != null; p = p.padre)
+			((VerticeRojinegro) p).tamano++;
 		rebalanceaAgrega(v);
     }
 
+    /**
+     * Agrega un vértice nuevo empezando a buscar su lugar en el dedo. Si el
+     * lugar no está junto al dedo, lo busca desde la raíz. Sólo se compara
+     * con el dedo y su vecino, no con los vértices que hay entre ellos y la
+     * raíz; si el orden de los elementos no es transitivo, el vértice puede
+     * quedar en otro lugar que si se buscara desde la raíz.
+     * @param nuevo el vértice nuevo, sin padre ni hijos.
+     */
+    @Override protected void agregaVertice(Vertice nuevo) {
+		if (dedo == null || !agregaJunto(dedo, nuevo))
+			super.agregaVertice(nuevo);
+		dedo = nuevo;
+    }
+
+	// Método auxiliar que agrega el vértice nuevo en uno de los subárboles del
+	// dedo si su lugar está entre el dedo y el vértice vecino más cercano
+	// fuera de ese subárbol; si no, no lo agrega y regresa false.
+	private boolean agregaJunto(Vertice dedo, Vertice nuevo) {
+		boolean izquierdo = compara(nuevo, dedo) <= 0;
+		/* Subimos mientras el dedo quede del mismo lado; el padre donde
+		cambia es el vecino, o no hay vecino si llegamos a la raíz. */
+		Vertice v = dedo;
+		while (v.padre != null &&
+			   (izquierdo ? v.padre.izquierdo : v.padre.derecho) == v)
+			v = v.padre;
+		Vertice vecino = v.padre;
+		if (vecino != null && (compara(nuevo, vecino) <= 0) == izquierdo)
+			return false;
+		Vertice hijo = izquierdo ? dedo.izquierdo : dedo.derecho;
+		if (hijo != null)
+			agregaDesde(hijo, nuevo);
+		else {
+			if (izquierdo)
+				dedo.izquierdo = nuevo;
+			else
+				dedo.derecho = nuevo;
+			nuevo.padre = dedo;
+		}
+		return true;
+	}
+
 	// Método auxiliar para rebalancear el árbol despues de agregar.
 	private void rebalanceaAgrega(VerticeRojinegro v) {
 		if (!v.hayPadre()) {
@@ -143,6 +242,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		VerticeRojinegro a = getAbuelo(v);
 		VerticeRojinegro t = getTio(v);
 		if (esRojo(t)) {
+			if (Contador.activos)
+				AGREGA_TIO_ROJO.incrementa();
 			t.color = Color.NEGRO;
 			p.color = Color.NEGRO;
 			a.color = Color.ROJO;
@@ -150,20 +251,79 @@ public class ArbolRojinegro<T extends Comparable<T>>
 			return;
 		}
 		if (estanCruzados(v, p)) {
+			if (Contador.activos)
+				AGREGA_CRUZADOS.incrementa();
 			if (esIzquierdo(p))
-				super.giraIzquierda(p);
+				giraIzquierdaRojinegro(p);
 			else
-				super.giraDerecha(p);
+				giraDerechaRojinegro(p);
 			VerticeRojinegro auxiliar = v;
 			v = p;
 			p = auxiliar;
 		}
+		if (Contador.activos)
+			AGREGA_GIRO.incrementa();
 		p.color = Color.NEGRO;
 		a.color = Color.ROJO;
 		if (esIzquierdo(v))
-			super.giraDerecha(a);
+			giraDerechaRojinegro(a);
 		else
-			super.giraIzquierda(a);
+			giraIzquierdaRojinegro(a);
+	}
+
+    /**
+     * Limpia el árbol y lo reconstruye con los elementos de la colección
+     * recibida, que debe regresarlos en orden. El método invoca al método
+     * {@link ArbolBinarioOrdenado#construye}, y después colorea de ROJO los
+     * vértices del último nivel si éste no está completo, y de NEGRO todos
+     * los demás; como todas las hojas están en los dos últimos niveles, el
+     * árbol cumple las propiedades de los árboles rojinegros. Toma tiempo
+     * lineal y no compara elementos.
+     * @param coleccion la colección ordenada con la que se construye el árbol.
+     */
+    @Override public void construye(Coleccion<T> coleccion) {
+		super.construye(coleccion);
+		coloreaConstruido();
+    }
+
+    /**
+     * Mezcla los elementos del árbol recibido con los de éste, y reconstruye
+     * éste árbol balanceado y coloreado con todos ellos.
+     * @param arbol el árbol cuyos elementos se mezclan con los de éste.
+     */
+    @Override public void mezcla(ArbolBinarioOrdenado<T> arbol) {
+		super.mezcla(arbol);
+		coloreaConstruido();
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío, y olvida el dedo.
+     */
+    @Override public void limpia() {
+		super.limpia();
+		dedo = null;
+    }
+
+	// Método auxiliar para colorear el árbol después de construirlo.
+	private void coloreaConstruido() {
+		if (esVacia())
+			return;
+		/* Nivel del último vértice: el piso del logaritmo base dos. Al
+		colorear también se calculan los tamaños de los subárboles. */
+		int nivel = 31 - Integer.numberOfLeadingZeros(elementos);
+		int completo = (1 << (nivel + 1)) - 1;
+		colorea((VerticeRojinegro) raiz, 0, elementos == completo ? -1 : nivel);
+	}
+
+	// Método auxiliar que colorea de ROJO los vértices del nivel recibido, y
+	// regresa el tamaño del subárbol del vértice.
+	private int colorea(VerticeRojinegro v, int profundidad, int rojo) {
+		if (v == null)
+			return 0;
+		v.color = profundidad == rojo ? Color.ROJO : Color.NEGRO;
+		v.tamano = 1 + colorea((VerticeRojinegro) v.izquierdo, profundidad + 1, rojo) +
+			colorea((VerticeRojinegro) v.derecho, profundidad + 1, rojo);
+		return v.tamano;
 	}
 
     /**
@@ -177,7 +337,47 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		Vertice v = vertice(busca(elemento));
 		if (v == null)	
 			return;
+		eliminaRojinegro(v);
+    }
+
+    /**
+     * Elimina el mínimo del árbol: el primer elemento in-order. Con elementos
+     * repetidos es el último que se agregó de ellos.
+     * @return el elemento eliminado.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T eliminaMinimo() {
+		if (raiz == null)
+			throw new NoSuchElementException();
+		Vertice v = raiz;
+		while (v.izquierdo != null)
+			v = v.izquierdo;
+		T t = v.elemento;
+		eliminaRojinegro(v);
+		return t;
+    }
+
+    /**
+     * Elimina el máximo del árbol: el último elemento in-order. Con elementos
+     * repetidos es el primero que se agregó de ellos.
+     * @return el elemento eliminado.
+     * @throws NoSuchElementException si el árbol es vacío.
+     */
+    public T eliminaMaximo() {
+		if (raiz == null)
+			throw new NoSuchElementException();
+		Vertice v = raiz;
+		while (v.derecho != null)
+			v = v.derecho;
+		T t = v.elemento;
+		eliminaRojinegro(v);
+		return t;
+    }
+
+	// Método auxiliar que elimina un vértice del árbol y lo rebalancea.
+	private void eliminaRojinegro(Vertice v) {
 		elementos--;
+		dedo = null;
 		VerticeRojinegro h = (VerticeRojinegro) nuevoVertice(null);
 		h.color = Color.NEGRO;	
 		if (v.hayDerecho() && v.hayIzquierdo()) 
@@ -187,6 +387,8 @@ public class ArbolRojinegro<T extends Comparable<T>>
 				v.izquierdo = h;
 		} else 
 			h = (VerticeRojinegro) (!v.hayDerecho() ? v.izquierdo() : v.derecho());
+		for (Vertice p = v.padre; p != null; p = p.padre)
+			((VerticeRojinegro) p).tamano--;
 		eliminaVertice(v);
 		if (esRojo(h)) 
 			h.color = Color.NEGRO;
@@ -195,7 +397,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
 			rebalanceaElimina(h);
 		if (h.elemento == null) 
 			eliminaVertice(h);
-    }
+	}
 
 	// Método auxiliar para rebalancear el árbol despues de eliminar.
 	private void rebalanceaElimina(VerticeRojinegro v) {
@@ -204,28 +406,36 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		VerticeRojinegro p = getPadre(v);
 		VerticeRojinegro h = getHermano(v);
 		if (esRojo(h)) { 
+			if (Contador.activos)
+				ELIMINA_HERMANO_ROJO.incrementa();
 			p.color = Color.ROJO;
 			h.color = Color.NEGRO;
 			if(esIzquierdo(v))
-				super.giraIzquierda(p);
+				giraIzquierdaRojinegro(p);
 			else
-				super.giraDerecha(p);
+				giraDerechaRojinegro(p);
 			h = getHermano(v);
 		}
 		VerticeRojinegro hi = (VerticeRojinegro) h.izquierdo;
 		VerticeRojinegro hd = (VerticeRojinegro) h.derecho;
 		if (!esRojo(p) && !esRojo(h) && !esRojo(hi) && !esRojo(hd)) {
+			if (Contador.activos)
+				ELIMINA_NEGROS.incrementa();
 			h.color = Color.ROJO;
 			rebalanceaElimina(p);
 			return;
 		} 
 		if (esRojo(p) && !esRojo(h) && !esRojo(hi) && !esRojo(hd)) {
+			if (Contador.activos)
+				ELIMINA_PADRE_ROJO.incrementa();
 			h.color = Color.ROJO;
 			p.color = Color.NEGRO;
 			return;
 		} 
 		if ((esIzquierdo(v) && esRojo(hi) && !esRojo(hd)) ||
 							!esIzquierdo(v) && !esRojo(hi) && esRojo(hd)) {
+			if (Contador.activos)
+				ELIMINA_SOBRINO_CRUZADO.incrementa();
 			h.color = Color.ROJO;
 			if (esRojo(hi)) {
 				if (hi != null) 
@@ -235,13 +445,15 @@ public class ArbolRojinegro<T extends Comparable<T>>
 					hd.color = Color.NEGRO;
 			}
 			if (esIzquierdo(v))
-				super.giraDerecha(h);
+				giraDerechaRojinegro(h);
 			else
-				super.giraIzquierda(h);
+				giraIzquierdaRojinegro(h);
 			h = getHermano(v);
 			hi = (VerticeRojinegro) h.izquierdo;
 			hd = (VerticeRojinegro) h.derecho;
 		}
+		if (Contador.activos)
+			ELIMINA_GIRO.incrementa();
 		h.color = p.color;
 		p.color = Color.NEGRO;
 		if (esIzquierdo(v)) {
@@ -252,9 +464,9 @@ public class ArbolRojinegro<T extends Comparable<T>>
 				hi.color = Color.NEGRO;
 		}
 		if (esIzquierdo(v))
-			super.giraIzquierda(p);
+			giraIzquierdaRojinegro(p);
 		else
-			super.giraDerecha(p);
+			giraDerechaRojinegro(p);
 	}
 
     /**
@@ -283,6 +495,161 @@ public class ArbolRojinegro<T extends Comparable<T>>
                                                 "por el usuario.");
     }
 
+    /**
+     * Regresa el elemento con el índice recibido en el orden del árbol: el
+     * primer elemento in-order tiene índice cero. Toma tiempo logarítmico.
+     * @param i el índice del elemento.
+     * @return el elemento con el índice recibido.
+     * @throws IndexOutOfBoundsException si el índice es menor que cero, o
+     *         mayor o igual que el número de vértices del árbol.
+     */
+    public T selecciona(int i) {
+		return verticeEn(i).elemento;
+    }
+
+    /**
+     * Regresa el número de elementos del árbol que son menores que el
+     * elemento recibido; es el índice que tendría el elemento si se agregara
+     * al árbol. Toma tiempo logarítmico.
+     * @param elemento el elemento del que queremos el rango.
+     * @return el número de elementos menores que el elemento recibido.
+     */
+    public int rango(T elemento) {
+		int r = 0;
+		long p = prefijo(elemento);
+		Vertice v = raiz;
+		while (v != null) {
+			if (compara(elemento, p, v) <= 0)
+				v = v.izquierdo;
+			else {
+				r += tamano(v.izquierdo) + 1;
+				v = v.derecho;
+			}
+		}
+		return r;
+    }
+
+    /**
+     * Regresa un iterador que empieza en el elemento con el índice recibido
+     * y recorre el árbol en orden, o en orden inverso, a partir de él.
+     * @param i el índice del primer elemento del recorrido.
+     * @param inverso si el recorrido es de mayor a menor.
+     * @return un iterador que empieza en el elemento con el índice recibido.
+     * @throws IndexOutOfBoundsException si el índice es menor que cero, o
+     *         mayor o igual que el número de vértices del árbol.
+     */
+    public Iterator<T> iteradorDesde(int i, boolean inverso) {
+		return iteradorDesde(verticeEn(i), inverso);
+    }
+
+	// Método auxiliar que regresa el vértice con el índice recibido.
+	private Vertice verticeEn(int i) {
+		if (i < 0 || i >= tamano(raiz))
+			throw new IndexOutOfBoundsException();
+		Vertice v = raiz;
+		while (true) {
+			int t = tamano(v.izquierdo);
+			if (i == t)
+				return v;
+			if (i < t)
+				v = v.izquierdo;
+			else {
+				i -= t + 1;
+				v = v.derecho;
+			}
+		}
+	}
+
+	// Método auxiliar para obtener el tamaño del subárbol de un vértice.
+	private int tamano(Vertice vertice) {
+		return vertice == null ? 0 : ((VerticeRojinegro) vertice).tamano;
+	}
+
+    /**
+     * Intercambia el elemento de un vértice con dos hijos con el de un
+     * descendiente, junto con su prefijo.
+     * @param vertice un vértice con dos hijos distintos de <code>null</code>.
+     * @return el vértice descendiente con el que vértice recibido se
+     *         intercambió.
+     */
+    @Override protected Vertice intercambiaEliminable(Vertice vertice) {
+		VerticeRojinegro u =
+			(VerticeRojinegro) super.intercambiaEliminable(vertice);
+		VerticeRojinegro v = (VerticeRojinegro) vertice;
+		long auxiliar = v.prefijo;
+		v.prefijo = u.prefijo;
+		u.prefijo = auxiliar;
+		return u;
+    }
+
+    /**
+     * Compara el elemento de un vértice nuevo con el de un vértice del árbol
+     * usando primero sus prefijos.
+     * @param nuevo el vértice nuevo.
+     * @param vertice el vértice del árbol.
+     * @return un entero negativo, cero o positivo si el elemento del vértice
+     *         nuevo es menor, igual o mayor que el del vértice del árbol.
+     */
+    @Override protected int compara(Vertice nuevo, Vertice vertice) {
+		return compara(nuevo.elemento, ((VerticeRojinegro) nuevo).prefijo,
+					   vertice);
+    }
+
+    /**
+     * Compara un elemento, con su prefijo, con el elemento de un vértice del
+     * árbol. Si los prefijos son distintos no se comparan los elementos.
+     * @param elemento el elemento a comparar.
+     * @param prefijo el prefijo del elemento.
+     * @param vertice el vértice del árbol.
+     * @return un entero negativo, cero o positivo si el elemento es menor,
+     *         igual o mayor que el del vértice.
+     */
+    protected int compara(T elemento, long prefijo, Vertice vertice) {
+		long q = ((VerticeRojinegro) vertice).prefijo;
+		if (prefijo != q) {
+			if (Contador.activos)
+				PREFIJOS.incrementa();
+			return Long.compareUnsigned(prefijo, q);
+		}
+		return elemento.compareTo(vertice.elemento);
+    }
+
+    /**
+     * Regresa el prefijo de un elemento: el de {@link Prefijado} si lo es, y
+     * cero si no, de modo que siempre se comparan los elementos.
+     * @param elemento el elemento del que queremos el prefijo.
+     * @return el prefijo del elemento.
+     */
+    protected static long prefijo(Object elemento) {
+		return elemento instanceof Prefijado ?
+			((Prefijado) elemento).getPrefijo() : 0;
+    }
+
+	// Método auxiliar que recalcula el tamaño de un vértice con los de sus
+	// hijos.
+	private void actualizaTamano(Vertice vertice) {
+		((VerticeRojinegro) vertice).tamano = (vertice.elemento == null ? 0 : 1) +
+			tamano(vertice.izquierdo) + tamano(vertice.derecho);
+	}
+
+	// Método auxiliar para girar a la izquierda y actualizar los tamaños.
+	private void giraIzquierdaRojinegro(Vertice vertice) {
+		if (Contador.activos)
+			ROTACIONES.incrementa();
+		super.giraIzquierda(vertice);
+		actualizaTamano(vertice);
+		actualizaTamano(vertice.padre);
+	}
+
+	// Método auxiliar para girar a la derecha y actualizar los tamaños.
+	private void giraDerechaRojinegro(Vertice vertice) {
+		if (Contador.activos)
+			ROTACIONES.incrementa();
+		super.giraDerecha(vertice);
+		actualizaTamano(vertice);
+		actualizaTamano(vertice.padre);
+	}
+
 	// Método auxiliar para verificar si un vertice es izquierdo.
 	private boolean esIzquierdo(VerticeRojinegro vertice) {
 		VerticeRojinegro p = getPadre(vertice);
@@ -291,7 +658,7 @@ public class ArbolRojinegro<T extends Comparable<T>>
 		else if (!p.hayIzquierdo())
 			return false;
 		else
-			return p.izquierdo.equals(vertice);
+			return p.izquierdo == vertice;
 	}
 	
 	// Método auxiliar para saber si dos vértices están cruzados.
@@ -319,14 +686,14 @@ public class ArbolRojinegro<T extends Comparable<T>>
 	private VerticeRojinegro getTio(VerticeRojinegro vertice) {
 		VerticeRojinegro a = getAbuelo(vertice);
 		VerticeRojinegro p = getPadre(vertice);
-		return (VerticeRojinegro) (p.equals(a.izquierdo) ? 
+		return (VerticeRojinegro) (p == a.izquierdo ? 
 											a.derecho : a.izquierdo);
 	}
 
 	// Método auxiliar para obtener el hermano de un vértice.
 	private VerticeRojinegro getHermano(VerticeRojinegro vertice) {
 		VerticeRojinegro p = getPadre(vertice);
-		return (VerticeRojinegro) (vertice.equals(p.izquierdo) ? 
+		return (VerticeRojinegro) (vertice == p.izquierdo ? 
 											p.derecho : p.izquierdo);
 	}
 }
@@ -0,0 +1,540 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para árboles rojinegros guardados en arreglos. El árbol cumple las
+ * mismas propiedades y el mismo orden que {@link ArbolRojinegro}, pero en
+ * lugar de un objeto por vértice, cada vértice es un índice en arreglos
+ * paralelos: uno con los elementos, tres de enteros con el izquierdo, el
+ * derecho y el padre, y uno de bits con el color.</p>
+ *
+ * <p>El índice 0 es un vértice centinela NEGRO que hace las veces de todas
+ * las hojas <code>null</code> y del padre de la raíz. Los índices de los
+ * vértices eliminados se reutilizan.</p>
+ *
+ * <p>Como en {@link ArbolBinarioOrdenado}, un elemento nuevo queda antes que
+ * los elementos iguales que ya estaban en el árbol.</p>
+ */
+public class ArbolRojinegroArreglo<T extends Comparable<T>>
+    implements Coleccion<T> {
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* El vértice siguiente, o el centinela si ya no hay. */
+        private int siguiente;
+        /* Si el recorrido es in-order inverso, de mayor a menor. */
+        private boolean inverso;
+
+        /* Inicializa al iterador. */
+        public Iterador(boolean inverso) {
+			this.inverso = inverso;
+			siguiente = raiz == NADA ? NADA :
+				inverso ? maximo(raiz) : minimo(raiz);
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+			return siguiente != NADA;
+        }
+
+        /* Regresa el siguiente elemento en orden DFS in-order. */
+        @Override public T next() {
+			if (siguiente == NADA)
+				throw new NoSuchElementException();
+			T t = elemento(siguiente);
+			siguiente = inverso ? predecesor(siguiente) : sucesor(siguiente);
+			return t;
+        }
+    }
+
+    /* El índice del centinela. */
+    private static final int NADA = 0;
+    /* La capacidad inicial de los arreglos. */
+    private static final int CAPACIDAD = 16;
+
+    /* Los elementos de los vértices. */
+    private Object[] elementos;
+    /* Los izquierdos de los vértices. */
+    private int[] izquierdo;
+    /* Los derechos de los vértices. */
+    private int[] derecho;
+    /* Los padres de los vértices. */
+    private int[] padre;
+    /* Un bit por vértice: 1 si es ROJO, 0 si es NEGRO. */
+    private long[] rojos;
+    /* La raíz del árbol, o el centinela si es vacío. */
+    private int raiz;
+    /* El número de elementos. */
+    private int n;
+    /* El primer índice que nunca se ha usado. */
+    private int nuevo;
+    /* El primer índice libre para reutilizar, o el centinela si no hay. Los
+       índices libres se encadenan por sus izquierdos. */
+    private int libre;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public ArbolRojinegroArreglo() {
+		limpia();
+    }
+
+    /**
+     * Construye un árbol rojinegro a partir de una colección. El árbol tiene
+     * los mismos elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos el árbol.
+     */
+    public ArbolRojinegroArreglo(Coleccion<T> coleccion) {
+        this();
+		for (T elemento : coleccion)
+			agrega(elemento);
+    }
+
+    /**
+     * Agrega un nuevo elemento al árbol, y después lo balancea recoloreando
+     * vértices y girando el árbol como sea necesario.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		int v = nuevoVertice(elemento);
+		int p = NADA;
+		int actual = raiz;
+		int c = 0;
+		while (actual != NADA) {
+			p = actual;
+			c = elemento.compareTo(elemento(actual));
+			actual = c <= 0 ? izquierdo[actual] : derecho[actual];
+		}
+		padre[v] = p;
+		if (p == NADA)
+			raiz = v;
+		else if (c <= 0)
+			izquierdo[p] = v;
+		else
+			derecho[p] = v;
+		n++;
+		rebalanceaAgrega(v);
+    }
+
+	// Método auxiliar para rebalancear el árbol despues de agregar.
+	private void rebalanceaAgrega(int v) {
+		while (esRojo(padre[v])) {
+			int p = padre[v];
+			int a = padre[p];
+			if (p == izquierdo[a]) {
+				int t = derecho[a];
+				if (esRojo(t)) {
+					if (Contador.activos)
+						ArbolRojinegro.AGREGA_TIO_ROJO.incrementa();
+					colorea(p, false);
+					colorea(t, false);
+					colorea(a, true);
+					v = a;
+					continue;
+				}
+				if (v == derecho[p]) {
+					if (Contador.activos)
+						ArbolRojinegro.AGREGA_CRUZADOS.incrementa();
+					v = p;
+					giraIzquierda(v);
+					p = padre[v];
+				}
+				if (Contador.activos)
+					ArbolRojinegro.AGREGA_GIRO.incrementa();
+				colorea(p, false);
+				colorea(a, true);
+				giraDerecha(a);
+			} else {
+				int t = izquierdo[a];
+				if (esRojo(t)) {
+					if (Contador.activos)
+						ArbolRojinegro.AGREGA_TIO_ROJO.incrementa();
+					colorea(p, false);
+					colorea(t, false);
+					colorea(a, true);
+					v = a;
+					continue;
+				}
+				if (v == izquierdo[p]) {
+					if (Contador.activos)
+						ArbolRojinegro.AGREGA_CRUZADOS.incrementa();
+					v = p;
+					giraDerecha(v);
+					p = padre[v];
+				}
+				if (Contador.activos)
+					ArbolRojinegro.AGREGA_GIRO.incrementa();
+				colorea(p, false);
+				colorea(a, true);
+				giraIzquierda(a);
+			}
+		}
+		colorea(raiz, false);
+	}
+
+    /**
+     * Elimina un elemento del árbol. Si el elemento no está en el árbol, no
+     * hace nada; si está varias veces, elimina el primero que encuentre
+     * (in-order). Después recolorea y gira el árbol como sea necesario para
+     * rebalancearlo.
+     * @param elemento el elemento a eliminar del árbol.
+     */
+    @Override public void elimina(T elemento) {
+		int v = busca(elemento);
+		if (v == NADA)
+			return;
+		int x;
+		boolean rojo = esRojo(v);
+		if (izquierdo[v] == NADA) {
+			x = derecho[v];
+			trasplanta(v, x);
+		} else if (derecho[v] == NADA) {
+			x = izquierdo[v];
+			trasplanta(v, x);
+		} else {
+			/* Subimos al sucesor, que tiene a lo más un hijo. */
+			int s = minimo(derecho[v]);
+			rojo = esRojo(s);
+			x = derecho[s];
+			if (padre[s] == v)
+				padre[x] = s;
+			else {
+				trasplanta(s, x);
+				derecho[s] = derecho[v];
+				padre[derecho[s]] = s;
+			}
+			trasplanta(v, s);
+			izquierdo[s] = izquierdo[v];
+			padre[izquierdo[s]] = s;
+			colorea(s, esRojo(v));
+		}
+		if (!rojo)
+			rebalanceaElimina(x);
+		liberaVertice(v);
+		n--;
+    }
+
+	// Método auxiliar para rebalancear el árbol despues de eliminar.
+	private void rebalanceaElimina(int v) {
+		while (v != raiz && !esRojo(v)) {
+			int p = padre[v];
+			if (v == izquierdo[p]) {
+				int h = derecho[p];
+				if (esRojo(h)) {
+					if (Contador.activos)
+						ArbolRojinegro.ELIMINA_HERMANO_ROJO.incrementa();
+					colorea(h, false);
+					colorea(p, true);
+					giraIzquierda(p);
+					h = derecho[p];
+				}
+				if (!esRojo(izquierdo[h]) && !esRojo(derecho[h])) {
+					if (Contador.activos)
+						(esRojo(p) ? ArbolRojinegro.ELIMINA_PADRE_ROJO :
+						 ArbolRojinegro.ELIMINA_NEGROS).incrementa();
+					colorea(h, true);
+					v = p;
+					continue;
+				}
+				if (!esRojo(derecho[h])) {
+					if (Contador.activos)
+						ArbolRojinegro.ELIMINA_SOBRINO_CRUZADO.incrementa();
+					colorea(izquierdo[h], false);
+					colorea(h, true);
+					giraDerecha(h);
+					h = derecho[p];
+				}
+				if (Contador.activos)
+					ArbolRojinegro.ELIMINA_GIRO.incrementa();
+				colorea(h, esRojo(p));
+				colorea(p, false);
+				colorea(derecho[h], false);
+				giraIzquierda(p);
+			} else {
+				int h = izquierdo[p];
+				if (esRojo(h)) {
+					if (Contador.activos)
+						ArbolRojinegro.ELIMINA_HERMANO_ROJO.incrementa();
+					colorea(h, false);
+					colorea(p, true);
+					giraDerecha(p);
+					h = izquierdo[p];
+				}
+				if (!esRojo(izquierdo[h]) && !esRojo(derecho[h])) {
+					if (Contador.activos)
+						(esRojo(p) ? ArbolRojinegro.ELIMINA_PADRE_ROJO :
+						 ArbolRojinegro.ELIMINA_NEGROS).incrementa();
+					colorea(h, true);
+					v = p;
+					continue;
+				}
+				if (!esRojo(izquierdo[h])) {
+					if (Contador.activos)
+						ArbolRojinegro.ELIMINA_SOBRINO_CRUZADO.incrementa();
+					colorea(derecho[h], false);
+					colorea(h, true);
+					giraIzquierda(h);
+					h = izquierdo[p];
+				}
+				if (Contador.activos)
+					ArbolRojinegro.ELIMINA_GIRO.incrementa();
+				colorea(h, esRojo(p));
+				colorea(p, false);
+				colorea(izquierdo[h], false);
+				giraDerecha(p);
+			}
+			v = raiz;
+		}
+		colorea(v, false);
+	}
+
+    /**
+     * Nos dice si un elemento está en el árbol.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+		return busca(elemento) != NADA;
+    }
+
+	// Método auxiliar que busca el primer vértice (in-order) cuyo elemento
+	// es igual al recibido; regresa el centinela si no hay.
+	private int busca(T elemento) {
+		/* Bajamos hasta el primer vértice que no es menor al elemento. */
+		int cota = NADA;
+		int v = raiz;
+		while (v != NADA) {
+			if (elemento.compareTo(elemento(v)) <= 0) {
+				cota = v;
+				v = izquierdo[v];
+			} else
+				v = derecho[v];
+		}
+		/* Entre los que se comparan iguales buscamos uno igual. */
+		for (v = cota; v != NADA && elemento.compareTo(elemento(v)) == 0;
+			 v = sucesor(v))
+			if (elemento.equals(elemento(v)))
+				return v;
+		return NADA;
+	}
+
+    /**
+     * Nos dice si el árbol es vacío.
+     * @return <code>true</code> si el árbol es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+		return n == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol.
+     * @return el número de elementos en el árbol.
+     */
+    @Override public int getElementos() {
+		return n;
+    }
+
+    /**
+     * Limpia el árbol de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+		elementos = new Object[CAPACIDAD];
+		izquierdo = new int[CAPACIDAD];
+		derecho = new int[CAPACIDAD];
+		padre = new int[CAPACIDAD];
+		rojos = new long[(CAPACIDAD + 63) / 64];
+		raiz = NADA;
+		n = 0;
+		nuevo = 1;
+		libre = NADA;
+    }
+
+    /**
+     * Regresa la altura del árbol. La altura de un árbol vacío es -1.
+     * @return la altura del árbol.
+     */
+    public int altura() {
+		if (raiz == NADA)
+			return -1;
+		/* Recorremos en pre-orden con una pila de vértices y sus
+		profundidades. La pila guarda a lo más un vértice pendiente por
+		nivel, y un árbol rojinegro tiene altura a lo más 2 log(n + 1). */
+		int m = 2 * (32 - Integer.numberOfLeadingZeros(n + 1));
+		int[] pila = new int[m];
+		int[] profundidades = new int[m];
+		int tope = 0;
+		pila[tope++] = raiz;
+		int altura = -1;
+		while (tope > 0) {
+			int v = pila[--tope];
+			int profundidad = profundidades[tope];
+			altura = Math.max(altura, profundidad);
+			if (derecho[v] != NADA) {
+				pila[tope] = derecho[v];
+				profundidades[tope++] = profundidad + 1;
+			}
+			if (izquierdo[v] != NADA) {
+				pila[tope] = izquierdo[v];
+				profundidades[tope++] = profundidad + 1;
+			}
+		}
+		return altura;
+    }
+
+    /**
+     * Regresa un iterador para iterar el árbol. El árbol se itera en orden,
+     * siguiendo los padres, sin memoria extra.
+     * @return un iterador para iterar el árbol.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador(false);
+    }
+
+    /**
+     * Regresa un iterador para iterar el árbol en orden inverso, del mayor al
+     * menor elemento.
+     * @return un iterador para iterar el árbol en orden inverso.
+     */
+    public Iterator<T> iteradorInverso() {
+        return new Iterador(true);
+    }
+
+	// Método auxiliar para obtener el elemento de un vértice.
+	@SuppressWarnings("unchecked") private T elemento(int v) {
+		return (T) elementos[v];
+	}
+
+	// Método auxiliar para saber si un vértice es rojo.
+	private boolean esRojo(int v) {
+		return (rojos[v >>> 6] & (1L << v)) != 0;
+	}
+
+	// Método auxiliar para colorear un vértice.
+	private void colorea(int v, boolean rojo) {
+		if (rojo)
+			rojos[v >>> 6] |= 1L << v;
+		else
+			rojos[v >>> 6] &= ~(1L << v);
+	}
+
+	// Método auxiliar que regresa un índice para un vértice ROJO nuevo.
+	private int nuevoVertice(T elemento) {
+		int v;
+		if (libre != NADA) {
+			v = libre;
+			libre = izquierdo[v];
+		} else {
+			if (nuevo == elementos.length)
+				crece();
+			v = nuevo++;
+		}
+		elementos[v] = elemento;
+		izquierdo[v] = derecho[v] = padre[v] = NADA;
+		colorea(v, true);
+		return v;
+	}
+
+	// Método auxiliar que libera el índice de un vértice eliminado.
+	private void liberaVertice(int v) {
+		elementos[v] = null;
+		izquierdo[v] = libre;
+		libre = v;
+	}
+
+	// Método auxiliar que duplica la capacidad de los arreglos.
+	private void crece() {
+		int capacidad = elementos.length * 2;
+		elementos = Arrays.copyOf(elementos, capacidad);
+		izquierdo = Arrays.copyOf(izquierdo, capacidad);
+		derecho = Arrays.copyOf(derecho, capacidad);
+		padre = Arrays.copyOf(padre, capacidad);
+		rojos = Arrays.copyOf(rojos, (capacidad + 63) / 64);
+	}
+
+	// Método auxiliar que pone a v en el lugar de u con respecto al padre
+	// de u. Puede cambiar el padre del centinela.
+	private void trasplanta(int u, int v) {
+		int p = padre[u];
+		if (p == NADA)
+			raiz = v;
+		else if (u == izquierdo[p])
+			izquierdo[p] = v;
+		else
+			derecho[p] = v;
+		padre[v] = p;
+	}
+
+	// Método auxiliar para girar a la izquierda sobre un vértice.
+	private void giraIzquierda(int q) {
+		if (Contador.activos)
+			ArbolRojinegro.ROTACIONES.incrementa();
+		int p = derecho[q];
+		derecho[q] = izquierdo[p];
+		if (izquierdo[p] != NADA)
+			padre[izquierdo[p]] = q;
+		trasplanta(q, p);
+		izquierdo[p] = q;
+		padre[q] = p;
+	}
+
+	// Método auxiliar para girar a la derecha sobre un vértice.
+	private void giraDerecha(int q) {
+		if (Contador.activos)
+			ArbolRojinegro.ROTACIONES.incrementa();
+		int p = izquierdo[q];
+		izquierdo[q] = derecho[p];
+		if (derecho[p] != NADA)
+			padre[derecho[p]] = q;
+		trasplanta(q, p);
+		derecho[p] = q;
+		padre[q] = p;
+	}
+
+	// Método auxiliar que regresa el mínimo del subárbol de un vértice.
+	private int minimo(int v) {
+		while (izquierdo[v] != NADA)
+			v = izquierdo[v];
+		return v;
+	}
+
+	// Método auxiliar que regresa el máximo del subárbol de un vértice.
+	private int maximo(int v) {
+		while (derecho[v] != NADA)
+			v = derecho[v];
+		return v;
+	}
+
+	// Método auxiliar que regresa el siguiente vértice in-order.
+	private int sucesor(int v) {
+		if (derecho[v] != NADA)
+			return minimo(derecho[v]);
+		int p = padre[v];
+		while (p != NADA && v == derecho[p]) {
+			v = p;
+			p = padre[p];
+		}
+		return p;
+	}
+
+	// Método auxiliar que regresa el vértice anterior in-order.
+	private int predecesor(int v) {
+		if (izquierdo[v] != NADA)
+			return maximo(izquierdo[v]);
+		int p = padre[v];
+		while (p != NADA && v == izquierdo[p]) {
+			v = p;
+			p = padre[p];
+		}
+		return p;
+	}
+}
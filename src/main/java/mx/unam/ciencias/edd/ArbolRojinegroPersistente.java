@@ -0,0 +1,423 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para árboles rojinegros persistentes. Un árbol persistente nunca
+ * cambia: agregar o eliminar un elemento regresa una <em>versión</em> nueva
+ * del árbol, y la versión anterior sigue siendo válida. Las dos versiones
+ * comparten todos los vértices salvo los del camino que se modificó, así que
+ * cada operación crea sólo O(log n) vértices, y guardar una versión (por
+ * ejemplo, para que otro hilo la recorra mientras se siguen agregando
+ * elementos) cuesta lo mismo que guardar una referencia.</p>
+ *
+ * <p>Los árboles son rojinegros inclinados a la izquierda: un vértice ROJO
+ * siempre es hijo izquierdo. Como en {@link ArbolRojinegro}, un elemento
+ * nuevo queda antes que los elementos iguales que ya estaban en el árbol, y
+ * cada vértice guarda el número de vértices en su subárbol.</p>
+ *
+ * <p>Los vértices no tienen padre, porque un mismo vértice puede estar en
+ * muchas versiones; por eso los iteradores usan una pila del tamaño de la
+ * altura del árbol. Como los vértices de una versión ya no cambian después de
+ * crearla, cualquier número de hilos puede recorrer la misma versión.</p>
+ */
+public class ArbolRojinegroPersistente<T extends Comparable<T>>
+    implements Iterable<T> {
+
+    /* Clase interna privada para vértices. */
+    private static class Vertice<T> {
+
+        /* El elemento del vértice. */
+        private T elemento;
+        /* El izquierdo del vértice. */
+        private Vertice<T> izquierdo;
+        /* El derecho del vértice. */
+        private Vertice<T> derecho;
+        /* Si el vértice es ROJO. */
+        private boolean rojo;
+        /* El número de vértices en el subárbol del vértice. */
+        private int tamano;
+        /* La operación que creó al vértice; sólo esa operación lo puede
+           modificar. */
+        private Object operacion;
+
+        /* Construye un vértice. */
+        public Vertice(T elemento, Vertice<T> izquierdo, Vertice<T> derecho,
+                       boolean rojo, int tamano, Object operacion) {
+			this.elemento = elemento;
+			this.izquierdo = izquierdo;
+			this.derecho = derecho;
+			this.rojo = rojo;
+			this.tamano = tamano;
+			this.operacion = operacion;
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* Pila con los vértices pendientes; el tope es el siguiente. */
+        private Vertice<T>[] pila;
+        /* El número de vértices en la pila. */
+        private int tope;
+        /* Si el recorrido es in-order inverso, de mayor a menor. */
+        private boolean inverso;
+
+        /* Inicializa al iterador para que empiece en el elemento con el
+           índice recibido. */
+        @SuppressWarnings("unchecked")
+        public Iterador(int indice, boolean inverso) {
+			this.inverso = inverso;
+			/* La altura de un árbol rojinegro con n vértices es a lo más
+			   2 log(n + 1). */
+			pila = (Vertice<T>[]) new Vertice<?>[2 * (32 -
+				Integer.numberOfLeadingZeros(tamano(raiz) + 1))];
+			Vertice<T> v = raiz;
+			while (v != null) {
+				int t = tamano(v.izquierdo);
+				if (indice == t) {
+					pila[tope++] = v;
+					return;
+				}
+				if (indice < t) {
+					if (!inverso)
+						pila[tope++] = v;
+					v = v.izquierdo;
+				} else {
+					if (inverso)
+						pila[tope++] = v;
+					indice -= t + 1;
+					v = v.derecho;
+				}
+			}
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+			return tope > 0;
+        }
+
+        /* Regresa el siguiente elemento en orden DFS in-order. */
+        @Override public T next() {
+			if (tope == 0)
+				throw new NoSuchElementException();
+			Vertice<T> v = pila[--tope];
+			Vertice<T> u = inverso ? v.izquierdo : v.derecho;
+			while (u != null) {
+				pila[tope++] = u;
+				u = inverso ? u.derecho : u.izquierdo;
+			}
+			return v.elemento;
+        }
+    }
+
+    /* La raíz de la versión. */
+    private final Vertice<T> raiz;
+
+    /**
+     * Constructor sin parámetros; crea un árbol vacío.
+     */
+    public ArbolRojinegroPersistente() {
+		raiz = null;
+    }
+
+    /* Crea la versión con la raíz recibida. */
+    private ArbolRojinegroPersistente(Vertice<T> raiz) {
+		this.raiz = raiz;
+    }
+
+    /**
+     * Regresa una versión nueva del árbol con el elemento agregado. Este
+     * árbol no cambia.
+     * @param elemento el elemento a agregar.
+     * @return la versión nueva del árbol.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    public ArbolRojinegroPersistente<T> agrega(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		Object operacion = new Object();
+		Vertice<T> r = agrega(raiz, elemento, operacion);
+		r.rojo = false;
+		return new ArbolRojinegroPersistente<>(r);
+    }
+
+	// Método auxiliar recursivo para agregar.
+	private Vertice<T> agrega(Vertice<T> v, T elemento, Object operacion) {
+		if (v == null)
+			return new Vertice<>(elemento, null, null, true, 1, operacion);
+		v = copia(v, operacion);
+		if (elemento.compareTo(v.elemento) <= 0)
+			v.izquierdo = agrega(v.izquierdo, elemento, operacion);
+		else
+			v.derecho = agrega(v.derecho, elemento, operacion);
+		return balancea(v, operacion);
+	}
+
+    /**
+     * Regresa una versión nueva del árbol sin el elemento. Si el elemento
+     * está varias veces, elimina el primero (in-order); si no está, regresa
+     * este mismo árbol. Este árbol no cambia.
+     * @param elemento el elemento a eliminar.
+     * @return la versión nueva del árbol.
+     */
+    public ArbolRojinegroPersistente<T> elimina(T elemento) {
+		int i = rango(elemento);
+		Iterator<T> iterador = i < getElementos() ? new Iterador(i, false) : null;
+		while (iterador != null && iterador.hasNext()) {
+			T t = iterador.next();
+			if (elemento.compareTo(t) != 0)
+				break;
+			if (elemento.equals(t))
+				return eliminaIndice(i);
+			i++;
+		}
+		return this;
+    }
+
+	// Método auxiliar que regresa la versión sin el elemento con el índice
+	// recibido.
+	private ArbolRojinegroPersistente<T> eliminaIndice(int i) {
+		Object operacion = new Object();
+		Vertice<T> r = copia(raiz, operacion);
+		if (!esRojo(r.izquierdo) && !esRojo(r.derecho))
+			r.rojo = true;
+		r = elimina(r, i, operacion);
+		if (r != null)
+			r.rojo = false;
+		return new ArbolRojinegroPersistente<>(r);
+	}
+
+	// Método auxiliar recursivo para eliminar el elemento con el índice
+	// recibido en el subárbol del vértice, que ya es de la operación.
+	private Vertice<T> elimina(Vertice<T> v, int i, Object operacion) {
+		if (i < tamano(v.izquierdo)) {
+			if (!esRojo(v.izquierdo) && !esRojo(v.izquierdo.izquierdo))
+				v = mueveRojoIzquierda(v, operacion);
+			v.izquierdo = elimina(copia(v.izquierdo, operacion), i, operacion);
+		} else {
+			if (esRojo(v.izquierdo))
+				v = giraDerecha(v, operacion);
+			if (i == tamano(v.izquierdo) && v.derecho == null)
+				return null;
+			if (!esRojo(v.derecho) && !esRojo(v.derecho.izquierdo))
+				v = mueveRojoDerecha(v, operacion);
+			if (i == tamano(v.izquierdo)) {
+				/* Subimos al sucesor y lo eliminamos de la derecha. */
+				Vertice<T> m = v.derecho;
+				while (m.izquierdo != null)
+					m = m.izquierdo;
+				v.elemento = m.elemento;
+				v.derecho = eliminaMinimo(copia(v.derecho, operacion), operacion);
+			} else
+				v.derecho = elimina(copia(v.derecho, operacion),
+									i - tamano(v.izquierdo) - 1, operacion);
+		}
+		return balancea(v, operacion);
+	}
+
+	// Método auxiliar recursivo para eliminar el mínimo del subárbol del
+	// vértice, que ya es de la operación.
+	private Vertice<T> eliminaMinimo(Vertice<T> v, Object operacion) {
+		if (v.izquierdo == null)
+			return null;
+		if (!esRojo(v.izquierdo) && !esRojo(v.izquierdo.izquierdo))
+			v = mueveRojoIzquierda(v, operacion);
+		v.izquierdo = eliminaMinimo(copia(v.izquierdo, operacion), operacion);
+		return balancea(v, operacion);
+	}
+
+    /**
+     * Nos dice si un elemento está en el árbol.
+     * @param elemento el elemento que queremos comprobar si está en el árbol.
+     * @return <code>true</code> si el elemento está en el árbol;
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(T elemento) {
+		int i = rango(elemento);
+		if (i == getElementos())
+			return false;
+		Iterator<T> iterador = new Iterador(i, false);
+		while (iterador.hasNext()) {
+			T t = iterador.next();
+			if (elemento.compareTo(t) != 0)
+				return false;
+			if (elemento.equals(t))
+				return true;
+		}
+		return false;
+    }
+
+    /**
+     * Regresa el elemento con el índice recibido en el orden del árbol: el
+     * primer elemento in-order tiene índice cero.
+     * @param i el índice del elemento.
+     * @return el elemento con el índice recibido.
+     * @throws IndexOutOfBoundsException si el índice es menor que cero, o
+     *         mayor o igual que el número de elementos.
+     */
+    public T selecciona(int i) {
+		if (i < 0 || i >= getElementos())
+			throw new IndexOutOfBoundsException();
+		Vertice<T> v = raiz;
+		while (true) {
+			int t = tamano(v.izquierdo);
+			if (i == t)
+				return v.elemento;
+			if (i < t)
+				v = v.izquierdo;
+			else {
+				i -= t + 1;
+				v = v.derecho;
+			}
+		}
+    }
+
+    /**
+     * Regresa el número de elementos del árbol que son menores que el
+     * elemento recibido.
+     * @param elemento el elemento del que queremos el rango.
+     * @return el número de elementos menores que el elemento recibido.
+     */
+    public int rango(T elemento) {
+		int r = 0;
+		Vertice<T> v = raiz;
+		while (v != null) {
+			if (elemento.compareTo(v.elemento) <= 0)
+				v = v.izquierdo;
+			else {
+				r += tamano(v.izquierdo) + 1;
+				v = v.derecho;
+			}
+		}
+		return r;
+    }
+
+    /**
+     * Nos dice si el árbol es vacío.
+     * @return <code>true</code> si el árbol es vacío, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esVacia() {
+		return raiz == null;
+    }
+
+    /**
+     * Regresa el número de elementos en el árbol.
+     * @return el número de elementos en el árbol.
+     */
+    public int getElementos() {
+		return tamano(raiz);
+    }
+
+    /**
+     * Regresa un iterador para iterar esta versión del árbol en orden.
+     * @return un iterador para iterar el árbol.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador(0, false);
+    }
+
+    /**
+     * Regresa un iterador para iterar esta versión del árbol en orden
+     * inverso, del mayor al menor elemento.
+     * @return un iterador para iterar el árbol en orden inverso.
+     */
+    public Iterator<T> iteradorInverso() {
+        return new Iterador(getElementos() - 1, true);
+    }
+
+	// Método auxiliar que regresa el vértice si es de la operación, o una
+	// copia que sí lo es.
+	private Vertice<T> copia(Vertice<T> v, Object operacion) {
+		if (v.operacion == operacion)
+			return v;
+		return new Vertice<>(v.elemento, v.izquierdo, v.derecho, v.rojo,
+							 v.tamano, operacion);
+	}
+
+	// Método auxiliar para saber si un vértice es rojo.
+	private boolean esRojo(Vertice<T> v) {
+		return v != null && v.rojo;
+	}
+
+	// Método auxiliar para obtener el tamaño del subárbol de un vértice.
+	private int tamano(Vertice<T> v) {
+		return v == null ? 0 : v.tamano;
+	}
+
+	// Método auxiliar que recalcula el tamaño de un vértice de la operación.
+	private void actualizaTamano(Vertice<T> v) {
+		v.tamano = 1 + tamano(v.izquierdo) + tamano(v.derecho);
+	}
+
+	// Método auxiliar que gira a la izquierda un vértice de la operación.
+	private Vertice<T> giraIzquierda(Vertice<T> v, Object operacion) {
+		Vertice<T> d = copia(v.derecho, operacion);
+		v.derecho = d.izquierdo;
+		d.izquierdo = v;
+		d.rojo = v.rojo;
+		v.rojo = true;
+		d.tamano = v.tamano;
+		actualizaTamano(v);
+		return d;
+	}
+
+	// Método auxiliar que gira a la derecha un vértice de la operación.
+	private Vertice<T> giraDerecha(Vertice<T> v, Object operacion) {
+		Vertice<T> i = copia(v.izquierdo, operacion);
+		v.izquierdo = i.derecho;
+		i.derecho = v;
+		i.rojo = v.rojo;
+		v.rojo = true;
+		i.tamano = v.tamano;
+		actualizaTamano(v);
+		return i;
+	}
+
+	// Método auxiliar que invierte los colores de un vértice de la operación
+	// y de sus dos hijos.
+	private void invierteColores(Vertice<T> v, Object operacion) {
+		v.izquierdo = copia(v.izquierdo, operacion);
+		v.derecho = copia(v.derecho, operacion);
+		v.rojo = !v.rojo;
+		v.izquierdo.rojo = !v.izquierdo.rojo;
+		v.derecho.rojo = !v.derecho.rojo;
+	}
+
+	// Método auxiliar que hace rojo al izquierdo o a uno de sus hijos.
+	private Vertice<T> mueveRojoIzquierda(Vertice<T> v, Object operacion) {
+		invierteColores(v, operacion);
+		if (esRojo(v.derecho.izquierdo)) {
+			v.derecho = giraDerecha(v.derecho, operacion);
+			v = giraIzquierda(v, operacion);
+			invierteColores(v, operacion);
+		}
+		return v;
+	}
+
+	// Método auxiliar que hace rojo al derecho o a uno de sus hijos.
+	private Vertice<T> mueveRojoDerecha(Vertice<T> v, Object operacion) {
+		invierteColores(v, operacion);
+		if (esRojo(v.izquierdo.izquierdo)) {
+			v = giraDerecha(v, operacion);
+			invierteColores(v, operacion);
+		}
+		return v;
+	}
+
+	// Método auxiliar que restablece las propiedades en un vértice de la
+	// operación al regresar de la recursión.
+	private Vertice<T> balancea(Vertice<T> v, Object operacion) {
+		if (esRojo(v.derecho) && !esRojo(v.izquierdo))
+			v = giraIzquierda(v, operacion);
+		if (esRojo(v.izquierdo) && esRojo(v.izquierdo.izquierdo))
+			v = giraDerecha(v, operacion);
+		if (esRojo(v.izquierdo) && esRojo(v.derecho))
+			invierteColores(v, operacion);
+		actualizaTamano(v);
+		return v;
+	}
+}
@@ -0,0 +1,29 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para colas genéricas en un arreglo circular.
+ */
+public class ColaArreglo<T> extends MeteSacaArreglo<T> {
+
+    /**
+     * Regresa una representación en cadena de la cola.
+     * @return una representación en cadena de la cola.
+     */
+    @Override public String toString() {
+		return toString(",");
+    }
+
+    /**
+     * Agrega un elemento al final de la cola.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		crece();
+		arreglo[indice(cabeza + elementos)] = elemento;
+		elementos++;
+    }
+}
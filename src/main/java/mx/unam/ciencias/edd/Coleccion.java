@@ -1,5 +1,10 @@
 package mx.unam.ciencias.edd;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * <p>Interface para colecciones, con operaciones para agregar y eliminar
  * elementos, y consultar si un elemento está contenido, así como para obtener
@@ -9,6 +14,9 @@ package mx.unam.ciencias.edd;
  * <p>Las colecciones no aceptan a <code>null</code> como elemento; el
  * comportamiento de las clases que implementen esta interfaz no está definido
  * si <code>null</code> es pasado como parámetro a ninguno de sus métodos.</p>
+ *
+ * <p>Las colecciones también se pueden recorrer con flujos ({@link Stream}),
+ * secuenciales o paralelos, en el orden de sus iteradores.</p>
  */
 public interface Coleccion<T> extends Iterable<T> {
 
@@ -52,4 +60,32 @@ public interface Coleccion<T> extends Iterable<T> {
      * Limpia la colección de elementos, dejándola vacía.
      */
     public void limpia();
+
+    /**
+     * Regresa un divisor (<em>spliterator</em>) para recorrer la colección. Por
+     * omisión usa el iterador de la colección y conoce su número de elementos.
+     * @return un divisor para recorrer la colección.
+     */
+    @Override public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), getElementos(),
+                                        Spliterator.ORDERED |
+                                        Spliterator.NONNULL);
+    }
+
+    /**
+     * Regresa un flujo secuencial con los elementos de la colección.
+     * @return un flujo secuencial con los elementos de la colección.
+     */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Regresa un flujo paralelo con los elementos de la colección. El flujo
+     * respeta el orden de la colección.
+     * @return un flujo paralelo con los elementos de la colección.
+     */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
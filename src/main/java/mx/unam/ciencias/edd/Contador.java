@@ -0,0 +1,81 @@
+package mx.unam.ciencias.edd;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Clase para contadores de estadísticas. Un contador tiene un nombre y
+ * cuenta cuántas veces ocurre algo; se puede incrementar desde varios hilos a
+ * la vez.</p>
+ *
+ * <p>Los contadores se usan en los caminos críticos de las estructuras, así
+ * que quien cuenta debe revisar primero {@link #activos}:</p>
+ *
+ * <pre>
+ *     if (Contador.activos)
+ *         ROTACIONES.incrementa();
+ * </pre>
+ *
+ * <p>Mientras los contadores no estén activos, esa revisión es lo único que
+ * cuesta contar.</p>
+ */
+public class Contador {
+
+    /**
+     * Si los contadores están activos. Se debe asignar antes de empezar a
+     * usar las estructuras que cuentan, y antes de crear otros hilos.
+     */
+    public static boolean activos;
+
+    /* El nombre del contador. */
+    private String nombre;
+    /* La cuenta del contador. */
+    private LongAdder cuenta;
+
+    /**
+     * Construye un contador con el nombre recibido, en cero.
+     * @param nombre el nombre del contador.
+     */
+    public Contador(String nombre) {
+		this.nombre = nombre;
+		cuenta = new LongAdder();
+    }
+
+    /**
+     * Incrementa en uno la cuenta.
+     */
+    public void incrementa() {
+		cuenta.increment();
+    }
+
+    /**
+     * Suma a la cuenta el número recibido.
+     * @param n el número a sumar.
+     */
+    public void suma(long n) {
+		cuenta.add(n);
+    }
+
+    /**
+     * Regresa la cuenta.
+     * @return la cuenta.
+     */
+    public long getCuenta() {
+		return cuenta.sum();
+    }
+
+    /**
+     * Regresa el nombre del contador.
+     * @return el nombre del contador.
+     */
+    public String getNombre() {
+		return nombre;
+    }
+
+    /**
+     * Regresa una representación en cadena del contador.
+     * @return una representación en cadena del contador.
+     */
+    @Override public String toString() {
+		return nombre + "=" + getCuenta();
+    }
+}
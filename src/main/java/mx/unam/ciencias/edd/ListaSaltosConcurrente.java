@@ -0,0 +1,362 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * <p>Clase para listas de saltos (<em>skip lists</em>) concurrentes. Una
+ * lista de saltos guarda sus elementos ordenados en una lista ligada, y cada
+ * nodo además está, con probabilidad 1/2, 1/4, 1/8..., en listas más ralas
+ * que permiten saltar sobre muchos nodos al buscar; así agregar, eliminar y
+ * buscar toman tiempo logarítmico esperado.</p>
+ *
+ * <p>La lista no usa candados: los nodos se enlazan con operaciones atómicas
+ * de comparar e intercambiar, y para eliminar un nodo primero se marcan sus
+ * referencias y después se desenlaza. Por eso varios hilos pueden agregar,
+ * eliminar y buscar al mismo tiempo, y ninguno bloquea a los demás.</p>
+ *
+ * <p>La lista acepta elementos repetidos. Como en {@link ArbolRojinegro}, un
+ * elemento nuevo queda antes que los elementos iguales que ya estaban en la
+ * lista; si dos hilos agregan elementos iguales al mismo tiempo, cualquiera
+ * puede quedar primero.</p>
+ *
+ * <p>Los iteradores son <em>débilmente consistentes</em>: nunca lanzan
+ * excepciones por modificaciones concurrentes, regresan los elementos en
+ * orden, y regresan los elementos que estaban al crearlos y no se eliminaron
+ * antes de alcanzarlos; los que se agregan o eliminan durante el recorrido
+ * pueden o no aparecer. Por lo mismo, {@link #getElementos} es exacto sólo si
+ * no hay operaciones en curso, y {@link #limpia} no se debe invocar
+ * concurrentemente con otras operaciones.</p>
+ */
+public class ListaSaltosConcurrente<T extends Comparable<T>>
+    implements Coleccion<T> {
+
+    /* Clase interna privada para nodos. */
+    private static class Nodo<T> {
+
+        /* El elemento del nodo, o null en la cabeza. */
+        private T elemento;
+        /* El número de agregado del nodo; desempata elementos iguales. */
+        private long numero;
+        /* Los siguientes del nodo en cada nivel; la marca indica que el nodo
+           se está eliminando. */
+        private AtomicMarkableReference<Nodo<T>>[] siguiente;
+
+        /* Construye un nodo con el número de niveles recibido. */
+        @SuppressWarnings("unchecked")
+        public Nodo(T elemento, long numero, int niveles) {
+			this.elemento = elemento;
+			this.numero = numero;
+			siguiente = (AtomicMarkableReference<Nodo<T>>[])
+				new AtomicMarkableReference<?>[niveles];
+			for (int i = 0; i < niveles; i++)
+				siguiente[i] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* El siguiente nodo no marcado, o null si ya no hay. */
+        private Nodo<T> siguiente;
+
+        /* Inicializa al iterador. */
+        public Iterador() {
+			siguiente = vivo(cabeza.siguiente[0].getReference());
+        }
+
+        /* Nos dice si hay un elemento siguiente. */
+        @Override public boolean hasNext() {
+			return siguiente != null;
+        }
+
+        /* Regresa el siguiente elemento en orden. */
+        @Override public T next() {
+			if (siguiente == null)
+				throw new NoSuchElementException();
+			T t = siguiente.elemento;
+			siguiente = vivo(siguiente.siguiente[0].getReference());
+			return t;
+        }
+    }
+
+    /* El número máximo de niveles. */
+    private static final int NIVELES = 32;
+
+    /* La cabeza de la lista; está en todos los niveles. */
+    private final Nodo<T> cabeza;
+    /* El número de elementos. */
+    private final AtomicInteger elementos;
+    /* El número del siguiente elemento que se agregue. */
+    private final AtomicLong numeros;
+    /* El nivel más alto de los nodos que se han agregado; las búsquedas
+       empiezan en él y no en el último nivel de la cabeza. Nunca baja. */
+    private final AtomicInteger nivelMaximo;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public ListaSaltosConcurrente() {
+		cabeza = new Nodo<>(null, 0, NIVELES);
+		elementos = new AtomicInteger();
+		numeros = new AtomicLong();
+		nivelMaximo = new AtomicInteger();
+    }
+
+    /**
+     * Construye una lista de saltos a partir de una colección. La lista tiene
+     * los mismos elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos la lista.
+     */
+    public ListaSaltosConcurrente(Coleccion<T> coleccion) {
+        this();
+		for (T elemento : coleccion)
+			agrega(elemento);
+    }
+
+    /**
+     * Agrega un elemento a la lista. Se puede invocar desde varios hilos al
+     * mismo tiempo.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void agrega(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		long numero = numeros.incrementAndGet();
+		int nivel = nivelAleatorio();
+		/* El nivel máximo sube antes de que el nodo se enlace, así que
+		   ningún nodo en la lista está más arriba que él. */
+		if (nivel > nivelMaximo.get())
+			nivelMaximo.accumulateAndGet(nivel, Math::max);
+		Nodo<T>[] anteriores = nodos(nivelMaximo.get() + 1);
+		Nodo<T>[] sucesores = nodos(anteriores.length);
+		Nodo<T> nuevo = new Nodo<>(elemento, numero, nivel + 1);
+		while (true) {
+			busca(elemento, numero, anteriores, sucesores);
+			for (int i = 0; i <= nivel; i++)
+				nuevo.siguiente[i].set(sucesores[i], false);
+			/* El nodo está en la lista en cuanto se enlaza en el nivel 0. */
+			if (!anteriores[0].siguiente[0].compareAndSet(sucesores[0], nuevo,
+														  false, false))
+				continue;
+			enlaza:
+			for (int i = 1; i <= nivel; i++) {
+				while (!anteriores[i].siguiente[i].compareAndSet(sucesores[i], nuevo,
+																 false, false)) {
+					busca(elemento, numero, anteriores, sucesores);
+					/* Si ya lo están eliminando, su siguiente está marcado y
+					   no lo enlazamos más. */
+					Nodo<T> s = nuevo.siguiente[i].getReference();
+					if (!nuevo.siguiente[i].compareAndSet(s, sucesores[i],
+														  false, false))
+						break enlaza;
+				}
+			}
+			elementos.incrementAndGet();
+			return;
+		}
+    }
+
+    /**
+     * Elimina un elemento de la lista. Si el elemento está varias veces,
+     * elimina el primero que encuentre; si no está, no hace nada. Se puede
+     * invocar desde varios hilos al mismo tiempo.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+		if (elemento == null)
+			return;
+		while (true) {
+			Nodo<T> n = primeroIgual(elemento);
+			if (n == null)
+				return;
+			/* Marcamos los niveles de arriba hacia abajo; quien marque el
+			   nivel 0 es quien lo eliminó. */
+			for (int i = n.siguiente.length - 1; i > 0; i--) {
+				boolean[] marca = new boolean[1];
+				Nodo<T> s = n.siguiente[i].get(marca);
+				while (!marca[0]) {
+					n.siguiente[i].compareAndSet(s, s, false, true);
+					s = n.siguiente[i].get(marca);
+				}
+			}
+			boolean[] marca = new boolean[1];
+			Nodo<T> s = n.siguiente[0].get(marca);
+			while (!marca[0]) {
+				if (n.siguiente[0].compareAndSet(s, s, false, true)) {
+					elementos.decrementAndGet();
+					/* Buscar desenlaza los nodos marcados. */
+					Nodo<T>[] anteriores = nodos(nivelMaximo.get() + 1);
+					busca(n.elemento, n.numero, anteriores,
+						  nodos(anteriores.length));
+					return;
+				}
+				s = n.siguiente[0].get(marca);
+			}
+			/* Otro hilo lo eliminó primero; buscamos otro igual. */
+		}
+    }
+
+    /**
+     * Nos dice si un elemento está en la lista.
+     * @param elemento el elemento que queremos comprobar si está en la lista.
+     * @return <code>true</code> si el elemento está en la lista;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+		return elemento != null && primeroIgual(elemento) != null;
+    }
+
+    /**
+     * Nos dice si la lista es vacía.
+     * @return <code>true</code> si la lista es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+		return vivo(cabeza.siguiente[0].getReference()) == null;
+    }
+
+    /**
+     * Regresa el número de elementos en la lista. Si hay operaciones en
+     * curso, el número puede no ser exacto.
+     * @return el número de elementos en la lista.
+     */
+    @Override public int getElementos() {
+		return elementos.get();
+    }
+
+    /**
+     * Limpia la lista de elementos, dejándola vacía. No se debe invocar
+     * concurrentemente con otras operaciones.
+     */
+    @Override public void limpia() {
+		for (int i = 0; i < NIVELES; i++)
+			cabeza.siguiente[i].set(null, false);
+		elementos.set(0);
+    }
+
+    /**
+     * Regresa un iterador débilmente consistente para iterar la lista en
+     * orden.
+     * @return un iterador para iterar la lista.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Regresa un divisor (<em>spliterator</em>) para recorrer la lista. Como
+     * el número de elementos puede cambiar, el divisor no lo reporta como
+     * exacto.
+     * @return un divisor para recorrer la lista.
+     */
+    @Override public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                                                   Spliterator.ORDERED |
+                                                   Spliterator.NONNULL |
+                                                   Spliterator.CONCURRENT);
+    }
+
+	// Método auxiliar que compara al elemento y número recibidos con los de
+	// un nodo. Con elementos iguales, el de número mayor va antes.
+	private int compara(T elemento, long numero, Nodo<T> nodo) {
+		int c = elemento.compareTo(nodo.elemento);
+		return c != 0 ? c : Long.compare(nodo.numero, numero);
+	}
+
+	// Método auxiliar que crea un arreglo de nodos del tamaño recibido.
+	@SuppressWarnings("unchecked") private Nodo<T>[] nodos(int n) {
+		return (Nodo<T>[]) new Nodo<?>[n];
+	}
+
+	// Método auxiliar que llena en cada nivel el último nodo antes de la
+	// posición del elemento y número recibidos, y el nodo que le sigue, en
+	// los niveles que caben en los arreglos. Desenlaza los nodos marcados
+	// que encuentra en el camino.
+	private void busca(T elemento, long numero,
+					   Nodo<T>[] anteriores, Nodo<T>[] sucesores) {
+		boolean[] marca = new boolean[1];
+		reintenta:
+		while (true) {
+			Nodo<T> anterior = cabeza;
+			for (int i = anteriores.length - 1; i >= 0; i--) {
+				Nodo<T> actual = anterior.siguiente[i].getReference();
+				while (actual != null) {
+					Nodo<T> s = actual.siguiente[i].get(marca);
+					while (marca[0]) {
+						if (!anterior.siguiente[i].compareAndSet(actual, s,
+																 false, false))
+							continue reintenta;
+						actual = s;
+						if (actual == null)
+							break;
+						s = actual.siguiente[i].get(marca);
+					}
+					if (actual == null || compara(elemento, numero, actual) <= 0)
+						break;
+					anterior = actual;
+					actual = s;
+				}
+				anteriores[i] = anterior;
+				sucesores[i] = actual;
+			}
+			return;
+		}
+	}
+
+	// Método auxiliar que regresa el primer nodo no marcado cuyo elemento es
+	// igual al recibido, o null si no hay. No modifica la lista.
+	private Nodo<T> primeroIgual(T elemento) {
+		/* Bajamos hasta el último nodo menor que el elemento. Un nodo marcado
+		   puede ya estar desenlazado, y sus siguientes no ven los nodos
+		   agregados después; por eso nunca bajamos desde uno. */
+		boolean[] marca = new boolean[1];
+		Nodo<T> anterior = cabeza;
+		Nodo<T> actual = null;
+		for (int i = nivelMaximo.get(); i >= 0; i--) {
+			actual = anterior.siguiente[i].getReference();
+			while (actual != null) {
+				Nodo<T> s = actual.siguiente[i].get(marca);
+				if (!marca[0]) {
+					if (elemento.compareTo(actual.elemento) <= 0)
+						break;
+					anterior = actual;
+				}
+				actual = s;
+			}
+		}
+		/* Al terminar, actual es el primer nodo no marcado que no es menor
+		   que el elemento. Entre los que se comparan iguales buscamos uno
+		   igual. */
+		while (actual != null && elemento.compareTo(actual.elemento) == 0) {
+			Nodo<T> s = actual.siguiente[0].get(marca);
+			if (!marca[0] && elemento.equals(actual.elemento))
+				return actual;
+			actual = s;
+		}
+		return null;
+	}
+
+	// Método auxiliar que regresa el primer nodo no marcado a partir del
+	// recibido en el nivel 0, o null si no hay.
+	private Nodo<T> vivo(Nodo<T> n) {
+		while (n != null && n.siguiente[0].isMarked())
+			n = n.siguiente[0].getReference();
+		return n;
+	}
+
+	// Método auxiliar que regresa un nivel aleatorio: i con probabilidad
+	// 1/2^(i+1).
+	private static int nivelAleatorio() {
+		return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() |
+											 1 << (NIVELES - 1));
+	}
+}
@@ -0,0 +1,163 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase abtracta para estructuras lineales restringidas a operaciones
+ * mete/saca/mira, guardadas en un arreglo circular.</p>
+ *
+ * <p>A diferencia de {@link MeteSaca}, meter un elemento no crea un nodo: el
+ * arreglo sólo crece, duplicando su tamaño, cuando se llena.</p>
+ */
+public abstract class MeteSacaArreglo<T> {
+
+    /** La capacidad inicial del arreglo; siempre es potencia de dos. */
+    private static final int CAPACIDAD = 16;
+
+    /** El arreglo circular con los elementos. */
+    protected Object[] arreglo;
+    /** El índice de la cabeza de la estructura. */
+    protected int cabeza;
+    /** El número de elementos en la estructura. */
+    protected int elementos;
+
+    /**
+     * Constructor sin parámetros.
+     */
+    public MeteSacaArreglo() {
+		arreglo = new Object[CAPACIDAD];
+    }
+
+    /**
+     * Agrega un elemento al extremo de la estructura.
+     * @param elemento el elemento a agregar.
+     */
+    public abstract void mete(T elemento);
+
+    /**
+     * Elimina el elemento en un extremo de la estructura y lo regresa.
+     * @return el elemento en un extremo de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    public T saca() {
+		if (elementos == 0)
+			throw new NoSuchElementException();
+		T t = elemento(cabeza);
+		arreglo[cabeza] = null;
+		cabeza = indice(cabeza + 1);
+		elementos--;
+		return t;
+    }
+
+    /**
+     * Saca elementos de la estructura, en el orden en que los regresaría
+     * {@link #saca}, hasta vaciarla o llenar el arreglo recibido.
+     * @param destino el arreglo donde se guardan los elementos sacados, desde
+     *        el índice cero.
+     * @return el número de elementos sacados.
+     */
+    public int drena(T[] destino) {
+		int n = Math.min(elementos, destino.length);
+		int primera = Math.min(n, arreglo.length - cabeza);
+		System.arraycopy(arreglo, cabeza, destino, 0, primera);
+		System.arraycopy(arreglo, 0, destino, primera, n - primera);
+		Arrays.fill(arreglo, cabeza, cabeza + primera, null);
+		Arrays.fill(arreglo, 0, n - primera, null);
+		cabeza = indice(cabeza + n);
+		elementos -= n;
+		return n;
+    }
+
+    /**
+     * Nos permite ver el elemento en un extremo de la estructura, sin sacarlo
+     * de la misma.
+     * @return el elemento en un extremo de la estructura.
+     * @throws NoSuchElementException si la estructura está vacía.
+     */
+    public T mira() {
+		if (elementos == 0)
+			throw new NoSuchElementException();
+		return elemento(cabeza);
+    }
+
+    /**
+     * Nos dice si la estructura está vacía.
+     * @return <code>true</code> si la estructura no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+		return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en la estructura.
+     * @return el número de elementos en la estructura.
+     */
+    public int getElementos() {
+		return elementos;
+    }
+
+    /**
+     * Compara la estructura con un objeto.
+     * @param object el objeto con el que queremos comparar la estructura.
+     * @return <code>true</code> si el objeto recibido es una instancia de la
+     *         misma clase que la estructura, y sus elementos son iguales en el
+     *         mismo orden; <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object object) {
+        if (object == null || getClass() != object.getClass())
+            return false;
+        @SuppressWarnings("unchecked") MeteSacaArreglo<T> m =
+            (MeteSacaArreglo<T>)object;
+		if (elementos != m.elementos)
+			return false;
+		for (int i = 0; i < elementos; i++)
+			if (!elemento(indice(cabeza + i)).equals(m.elemento(m.indice(m.cabeza + i))))
+				return false;
+		return true;
+    }
+
+    /**
+     * Regresa una representación en cadena de la estructura, con cada
+     * elemento seguido de un separador.
+     * @param separador la cadena que sigue a cada elemento.
+     * @return una representación en cadena de la estructura.
+     */
+    protected String toString(String separador) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < elementos; i++)
+			sb.append(elemento(indice(cabeza + i))).append(separador);
+		return sb.toString();
+    }
+
+    /**
+     * Regresa el índice en el arreglo que corresponde a una posición,
+     * dándole la vuelta al arreglo si es necesario.
+     * @param i la posición, que puede ser negativa o pasarse del arreglo.
+     * @return el índice en el arreglo.
+     */
+    protected int indice(int i) {
+		return i & (arreglo.length - 1);
+    }
+
+    /**
+     * Duplica la capacidad del arreglo si está lleno. Los elementos quedan al
+     * principio del nuevo arreglo, empezando por la cabeza.
+     */
+    protected void crece() {
+		if (elementos < arreglo.length)
+			return;
+		Object[] nuevo = new Object[arreglo.length * 2];
+		int primera = arreglo.length - cabeza;
+		System.arraycopy(arreglo, cabeza, nuevo, 0, primera);
+		System.arraycopy(arreglo, 0, nuevo, primera, cabeza);
+		arreglo = nuevo;
+		cabeza = 0;
+    }
+
+	// Método auxiliar para obtener el elemento en un índice del arreglo.
+	@SuppressWarnings("unchecked") private T elemento(int i) {
+		return (T) arreglo[i];
+	}
+}
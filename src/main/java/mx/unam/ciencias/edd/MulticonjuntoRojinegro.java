@@ -0,0 +1,309 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Iterator;
+
+/**
+ * <p>Clase para multiconjuntos ordenados sobre árboles rojinegros.</p>
+ *
+ * <p>Dos elementos se consideran el mismo si se comparan iguales con {@link
+ * Comparable#compareTo}. Cada elemento distinto se guarda una sola vez en un
+ * vértice del árbol, junto con su multiplicidad: el número de veces que se ha
+ * agregado. Así, la memoria y el costo de agregar crecen con el número de
+ * elementos distintos y no con el total.</p>
+ *
+ * <p>El iterador y los recorridos del árbol visitan cada elemento distinto una
+ * sola vez; el elemento que se guarda es el primero que se agregó. El iterador
+ * de {@link #iteradorMultiplicidades} da además la multiplicidad de cada
+ * uno.</p>
+ *
+ * <p>Igual que el iterador, los métodos por índice {@link #selecciona}, {@link
+ * #rango} e {@link #iteradorDesde} cuentan cada elemento distinto una sola
+ * vez, sin importar su multiplicidad: los índices van de cero a {@link
+ * #getDistintos} menos uno, mientras que {@link #getElementos} cuenta también
+ * las repeticiones.</p>
+ */
+public class MulticonjuntoRojinegro<T extends Comparable<T>>
+    extends ArbolRojinegro<T> {
+
+    /**
+     * Clase interna protegida para vértices con multiplicidad.
+     */
+    protected class VerticeMulticonjunto extends VerticeRojinegro {
+
+        /** La multiplicidad del elemento del vértice. */
+        public int multiplicidad;
+
+        /**
+         * Constructor único que recibe un elemento.
+         * @param elemento el elemento del vértice.
+         */
+        public VerticeMulticonjunto(T elemento) {
+			super(elemento);
+			multiplicidad = 1;
+        }
+
+        /**
+         * Compara el contenido del vértice con el de otro vértice del
+         * multiconjunto, sin tomar en cuenta a sus descendientes.
+         * @param vertice el vértice con el que se compara.
+         * @return <code>true</code> si es igual como vértice rojinegro y tiene
+         *         la misma multiplicidad; <code>false</code> en otro caso.
+         */
+        @Override protected boolean igualSinDescendientes(Vertice vertice) {
+			return multiplicidad == ((VerticeMulticonjunto) vertice).multiplicidad &&
+				super.igualSinDescendientes(vertice);
+        }
+    }
+
+    /**
+     * Clase interna pública para iteradores que, además de cada elemento
+     * distinto, dan su multiplicidad. La multiplicidad se lee del vértice que
+     * se está recorriendo, así que no se vuelve a buscar el elemento.
+     */
+    public class IteradorMultiplicidades implements Iterator<T> {
+
+        /* Los vértices del multiconjunto, en orden o en orden inverso. */
+        private Iterator<Vertice> vertices;
+        /* La multiplicidad del último elemento regresado. */
+        private int multiplicidad;
+
+        /* Inicializa al iterador. */
+        private IteradorMultiplicidades(boolean inverso) {
+			vertices = iteradorVertices(inverso);
+        }
+
+        /**
+         * Nos dice si hay un elemento siguiente.
+         * @return <code>true</code> si hay un elemento siguiente;
+         *         <code>false</code> en otro caso.
+         */
+        @Override public boolean hasNext() {
+			return vertices.hasNext();
+        }
+
+        /**
+         * Regresa el siguiente elemento distinto.
+         * @return el siguiente elemento distinto.
+         * @throws java.util.NoSuchElementException si ya no hay elementos.
+         */
+        @Override public T next() {
+			VerticeMulticonjunto v = (VerticeMulticonjunto) vertices.next();
+			multiplicidad = v.multiplicidad;
+			return v.elemento;
+        }
+
+        /**
+         * Regresa la multiplicidad del último elemento que regresó {@link
+         * #next}.
+         * @return la multiplicidad del último elemento regresado, o cero si
+         *         aún no se ha regresado ninguno.
+         */
+        public int getMultiplicidad() {
+			return multiplicidad;
+        }
+    }
+
+    /** El número de elementos distintos. */
+    private int distintos;
+
+    /**
+     * Constructor sin parámetros. Para no perder el constructor sin parámetros
+     * de {@link ArbolRojinegro}.
+     */
+    public MulticonjuntoRojinegro() {
+        super();
+    }
+
+    /**
+     * Construye un multiconjunto a partir de una colección. El multiconjunto
+     * tiene los mismos elementos que la colección recibida.
+     * @param coleccion la colección a partir de la cual creamos el
+     *        multiconjunto.
+     */
+    public MulticonjuntoRojinegro(Coleccion<T> coleccion) {
+        super(coleccion);
+    }
+
+    /**
+     * Construye un nuevo vértice, usando una instancia de {@link
+     * VerticeMulticonjunto}.
+     * @param elemento el elemento dentro del vértice.
+     * @return un nuevo vértice con multiplicidad uno.
+     */
+    @Override protected Vertice nuevoVertice(T elemento) {
+		return new VerticeMulticonjunto(elemento);
+    }
+
+    /**
+     * Agrega un elemento al multiconjunto. Si ya hay un elemento igual, sólo
+     * aumenta su multiplicidad; si no, lo agrega al árbol rojinegro, que se
+     * rebalancea como siempre.
+     * @param elemento el elemento a agregar.
+     */
+    @Override public void agrega(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		VerticeMulticonjunto v = (VerticeMulticonjunto) busca(elemento);
+		if (v == null) {
+			super.agrega(elemento);
+			distintos++;
+			return;
+		}
+		v.multiplicidad++;
+		elementos++;
+		ultimoAgregado = v;
+    }
+
+    /**
+     * Elimina una aparición de un elemento. Si su multiplicidad llega a cero,
+     * elimina su vértice del árbol rojinegro, que se rebalancea como siempre.
+     * @param elemento el elemento a eliminar.
+     */
+    @Override public void elimina(T elemento) {
+		VerticeMulticonjunto v = (VerticeMulticonjunto) busca(elemento);
+		if (v == null)
+			return;
+		if (v.multiplicidad > 1) {
+			v.multiplicidad--;
+			elementos--;
+			return;
+		}
+		super.elimina(elemento);
+		distintos--;
+    }
+
+    /**
+     * Elimina una aparición del mínimo del multiconjunto.
+     * @return el elemento eliminado.
+     * @throws java.util.NoSuchElementException si el multiconjunto es vacío.
+     */
+    @Override public T eliminaMinimo() {
+		T t = iterator().next();
+		elimina(t);
+		return t;
+    }
+
+    /**
+     * Elimina una aparición del máximo del multiconjunto.
+     * @return el elemento eliminado.
+     * @throws java.util.NoSuchElementException si el multiconjunto es vacío.
+     */
+    @Override public T eliminaMaximo() {
+		T t = iteradorInverso().next();
+		elimina(t);
+		return t;
+    }
+
+    /**
+     * Intercambia el elemento de un vértice con dos hijos con el de un
+     * descendiente, junto con su multiplicidad.
+     * @param vertice un vértice con dos hijos distintos de <code>null</code>.
+     * @return el vértice descendiente con el que vértice recibido se
+     *         intercambió.
+     */
+    @Override protected Vertice intercambiaEliminable(Vertice vertice) {
+		VerticeMulticonjunto u =
+			(VerticeMulticonjunto) super.intercambiaEliminable(vertice);
+		VerticeMulticonjunto v = (VerticeMulticonjunto) vertice;
+		int auxiliar = v.multiplicidad;
+		v.multiplicidad = u.multiplicidad;
+		u.multiplicidad = auxiliar;
+		return u;
+    }
+
+    /**
+     * Busca un elemento en el multiconjunto: regresa el vértice cuyo elemento
+     * se compara igual al recibido, o <code>null</code> si no hay ninguno.
+     * @param elemento el elemento a buscar.
+     * @return el vértice con un elemento igual al buscado si lo encuentra;
+     *         <code>null</code> en otro caso.
+     */
+    @Override public VerticeArbolBinario<T> busca(T elemento) {
+		long p = prefijo(elemento);
+		Vertice v = raiz;
+		while (v != null) {
+			int c = compara(elemento, p, v);
+			if (c == 0)
+				return v;
+			v = c < 0 ? v.izquierdo : v.derecho;
+		}
+		return null;
+    }
+
+    /**
+     * Regresa la multiplicidad de un elemento en el multiconjunto.
+     * @param elemento el elemento del que queremos la multiplicidad.
+     * @return cuántas veces está el elemento en el multiconjunto; cero si no
+     *         está.
+     */
+    public int getMultiplicidad(T elemento) {
+		VerticeArbolBinario<T> v = busca(elemento);
+		return v == null ? 0 : getMultiplicidad(v);
+    }
+
+    /**
+     * Regresa la multiplicidad del elemento de un vértice del multiconjunto.
+     * @param vertice el vértice del que queremos la multiplicidad.
+     * @return la multiplicidad del elemento del vértice.
+     * @throws ClassCastException si el vértice no es instancia de {@link
+     *         VerticeMulticonjunto}.
+     */
+    public int getMultiplicidad(VerticeArbolBinario<T> vertice) {
+		if (!(vertice instanceof MulticonjuntoRojinegro.VerticeMulticonjunto))
+			throw new ClassCastException();
+		return ((VerticeMulticonjunto) vertice).multiplicidad;
+    }
+
+    /**
+     * Regresa un iterador sobre los elementos distintos del multiconjunto que
+     * también da la multiplicidad de cada uno.
+     * @param inverso si el recorrido es de mayor a menor.
+     * @return un iterador con multiplicidades.
+     */
+    public IteradorMultiplicidades iteradorMultiplicidades(boolean inverso) {
+		return new IteradorMultiplicidades(inverso);
+    }
+
+    /**
+     * Regresa el número de elementos distintos en el multiconjunto. El
+     * método {@link #getElementos} cuenta también las repeticiones.
+     * @return el número de elementos distintos.
+     */
+    public int getDistintos() {
+		return distintos;
+    }
+
+    /**
+     * Limpia el multiconjunto de elementos, dejándolo vacío.
+     */
+    @Override public void limpia() {
+		super.limpia();
+		distintos = 0;
+    }
+
+    /**
+     * Lanza la excepción {@link UnsupportedOperationException}: un
+     * multiconjunto no se puede construir en tiempo lineal, porque habría que
+     * juntar los elementos iguales; se deben agregar uno por uno.
+     * @param coleccion la colección con la que se quería construir.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override public void construye(Coleccion<T> coleccion) {
+        throw new UnsupportedOperationException("Los multiconjuntos no se " +
+                                                "pueden construir en tiempo " +
+                                                "lineal.");
+    }
+
+    /**
+     * Lanza la excepción {@link UnsupportedOperationException}: un
+     * multiconjunto no se puede mezclar en tiempo lineal, porque habría que
+     * juntar los elementos iguales; se deben agregar uno por uno.
+     * @param arbol el árbol con el que se quería mezclar.
+     * @throws UnsupportedOperationException siempre.
+     */
+    @Override public void mezcla(ArbolBinarioOrdenado<T> arbol) {
+        throw new UnsupportedOperationException("Los multiconjuntos no se " +
+                                                "pueden mezclar en tiempo " +
+                                                "lineal.");
+    }
+}
@@ -0,0 +1,30 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Clase para pilas genéricas en un arreglo circular.
+ */
+public class PilaArreglo<T> extends MeteSacaArreglo<T> {
+
+    /**
+     * Regresa una representación en cadena de la pila.
+     * @return una representación en cadena de la pila.
+     */
+    @Override public String toString() {
+		return toString("\n");
+    }
+
+    /**
+     * Agrega un elemento al tope de la pila.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si <code>elemento</code> es
+     *         <code>null</code>.
+     */
+    @Override public void mete(T elemento) {
+		if (elemento == null)
+			throw new IllegalArgumentException();
+		crece();
+		cabeza = indice(cabeza - 1);
+		arreglo[cabeza] = elemento;
+		elementos++;
+    }
+}
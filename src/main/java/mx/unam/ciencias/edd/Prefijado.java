@@ -0,0 +1,21 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Interfaz para elementos comparables que se pueden resumir en un prefijo
+ * numérico. El prefijo debe respetar el orden de {@link Comparable#compareTo}:
+ * si los prefijos de dos elementos son distintos, comparados como enteros sin
+ * signo, el elemento con el prefijo menor es el menor. Si los prefijos son
+ * iguales no se sabe nada, y hay que comparar los elementos.</p>
+ *
+ * <p>Los árboles rojinegros guardan el prefijo de cada elemento en su vértice,
+ * así que la mayoría de las comparaciones al bajar por el árbol se deciden sin
+ * revisar los elementos.</p>
+ */
+public interface Prefijado {
+
+    /**
+     * Regresa el prefijo del elemento.
+     * @return el prefijo del elemento.
+     */
+    public long getPrefijo();
+}
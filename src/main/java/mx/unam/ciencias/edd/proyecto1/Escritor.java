@@ -0,0 +1,101 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/* Clase para escribir las líneas ordenadas. Los caracteres de cada línea se
+codifican directamente en un buffer grande que se reutiliza, y el buffer se
+escribe en el canal sólo cuando se llena. Los caracteres que no se pueden
+codificar se remplazan, igual que en un OutputStreamWriter. */
+public class Escritor {
+
+	/* El tamaño del buffer por omisión, en bytes. */
+	public static final int TAMANO = 1 << 20;
+
+	/* El canal en el que se escribe. */
+	private WritableByteChannel canal;
+	/* El buffer con los bytes por escribir. */
+	private ByteBuffer bufer;
+	/* El codificador del juego de caracteres. */
+	private CharsetEncoder codificador;
+	/* Si los caracteres ASCII se pueden copiar sin codificarlos. */
+	private boolean ascii;
+	/* Lo que se escribe después de cada línea. */
+	private char[] separador;
+
+	/* Crea un escritor sobre el canal recibido, con un buffer del tamaño 
+	recibido en bytes. */
+	public Escritor(WritableByteChannel canal, Charset juego, String separador, 
+					int tamano) {
+		if (tamano < 1)
+			throw new IllegalArgumentException();
+		this.canal = canal;
+		this.separador = separador.toCharArray();
+		bufer = ByteBuffer.allocateDirect(Math.max(tamano, 16));
+		codificador = juego.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		/* Los juegos que se leen mapeados codifican igual el ASCII. */
+		ascii = LectorMapeado.soporta(juego);
+	}
+
+	/* Escribe una línea seguida del separador. */
+	public void escribe(Linea linea) throws IOException {
+		escribe(linea.caracteres());
+		escribe(separador);
+	}
+
+	/* Codifica los caracteres en el buffer, vaciándolo cuando se llena. */
+	private void escribe(char[] caracteres) throws IOException {
+		int i = 0;
+		if (ascii) {
+			while (i < caracteres.length && caracteres[i] < 0x80) {
+				if (!bufer.hasRemaining())
+					vacia();
+				bufer.put((byte) caracteres[i++]);
+			}
+			if (i == caracteres.length)
+				return;
+		}
+		/* Después de un caracter ASCII nunca hay medio par sustituto, así 
+		que el resto de la línea se puede codificar por separado. El 
+		codificador no se reinicia entre líneas, como en un flujo. */
+		CharBuffer resto = CharBuffer.wrap(caracteres, i, caracteres.length - i);
+		CoderResult r = codificador.encode(resto, bufer, false);
+		while (r.isOverflow()) {
+			vacia();
+			r = codificador.encode(resto, bufer, false);
+		}
+		/* Si la línea termina con medio par sustituto, lo que sigue es el
+		separador, así que se remplaza. */
+		if (resto.hasRemaining()) {
+			byte[] remplazo = codificador.replacement();
+			if (bufer.remaining() < remplazo.length)
+				vacia();
+			bufer.put(remplazo);
+		}
+	}
+
+	/* Escribe en el canal todo lo que hay en el buffer. */
+	public void vacia() throws IOException {
+		bufer.flip();
+		while (bufer.hasRemaining())
+			canal.write(bufer);
+		bufer.clear();
+	}
+
+	/* Vacía el buffer y cierra el canal. */
+	public void cierra() throws IOException {
+		try {
+			vacia();
+		} finally {
+			canal.close();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.Contador;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/* Estadísticas de una ejecución, para la opción '--estadisticas': los bytes y
+líneas leídos, el tiempo de cada fase, las comparaciones de líneas en cada
+caso y los casos al rebalancear los árboles rojinegros. Los contadores sólo
+cuentan si Contador.activos es verdadero, y eso se debe asignar antes de leer
+la entrada; si no, contar cuesta sólo revisar esa variable. */
+public class Estadisticas {
+
+	/* Flujo de entrada que cuenta los bytes que se leen. */
+	private static class Entrada extends FilterInputStream {
+
+		public Entrada(InputStream in) {
+			super(in);
+		}
+
+		@Override public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0)
+				BYTES.incrementa();
+			return b;
+		}
+
+		@Override public int read(byte[] b, int inicio, int n) throws IOException {
+			int leidos = super.read(b, inicio, n);
+			if (leidos > 0)
+				BYTES.suma(leidos);
+			return leidos;
+		}
+	}
+
+	/* Los bytes leídos de la entrada. */
+	static final Contador BYTES = new Contador("bytes");
+	/* Las líneas leídas de la entrada. */
+	static final Contador LINEAS = new Contador("lineas");
+
+	/* Los tiempos de las fases en formato JSON, separados por comas. */
+	private StringBuilder fases;
+	/* El momento en que empezó la fase actual, en nanosegundos. */
+	private long inicio;
+
+	/* Activa los contadores y empieza la primera fase. */
+	public Estadisticas() {
+		Contador.activos = true;
+		fases = new StringBuilder();
+		inicio = System.nanoTime();
+	}
+
+	/* Si los contadores están activos, regresa un flujo que cuenta los bytes
+	que se leen del flujo recibido; si no, el mismo flujo. */
+	static InputStream cuenta(InputStream in) {
+		return Contador.activos ? new Entrada(in) : in;
+	}
+
+	/* Termina la fase actual con el nombre recibido y empieza la siguiente. */
+	public void termina(String fase) {
+		long fin = System.nanoTime();
+		if (fases.length() > 0)
+			fases.append(", ");
+		fases.append(String.format(Locale.ROOT, "\"%s\": %.3f", fase, (fin - inicio) / 1e6));
+		inicio = fin;
+	}
+
+	/* Imprime las estadísticas como un objeto JSON en la salida de errores,
+	con la altura final del árbol del ordenador recibido. */
+	public void imprime(Ordenador lineas) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"entrada\": {");
+		objeto(sb, new Contador[] { BYTES, LINEAS });
+		sb.append("}, \"milisegundos\": {").append(fases);
+		sb.append("}, \"comparaciones\": {");
+		/* Los árboles rojinegros deciden por prefijo comparaciones que
+		compareTo habría decidido en el caso uno; se cuentan en él. */
+		Contador[] casos = Linea.getContadores();
+		long prefijos = ArbolRojinegro.getPrefijos().getCuenta();
+		sb.append("\"prefijo\": ").append(prefijos);
+		sb.append(", \"").append(casos[0].getNombre()).append("\": ")
+			.append(casos[0].getCuenta() + prefijos).append(", ");
+		objeto(sb, Arrays.copyOfRange(casos, 1, casos.length));
+		sb.append("}, \"arbol\": {");
+		objeto(sb, ArbolRojinegro.getContadores());
+		sb.append(", \"altura\": ").append(lineas.altura()).append("}}");
+		System.err.println(sb);
+	}
+
+	/* Agrega los contadores como miembros de un objeto JSON. */
+	private static void objeto(StringBuilder sb, Contador[] contadores) {
+		for (int i = 0; i < contadores.length; i++) {
+			if (i > 0)
+				sb.append(", ");
+			sb.append('"').append(contadores[i].getNombre()).append("\": ")
+				.append(contadores[i].getCuenta());
+		}
+	}
+}
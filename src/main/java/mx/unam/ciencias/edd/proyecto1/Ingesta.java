@@ -0,0 +1,194 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.Contador;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/* Etapa de lectura de los archivos de entrada. Con un solo lector, cada
+archivo se lee y sus líneas se agregan al ordenador en el mismo hilo. Con
+varios, los archivos se leen y decodifican en paralelo en un grupo de hilos
+lectores, que construyen las líneas por lotes; cada archivo entrega sus lotes
+por una cola acotada, y el hilo principal los agrega al ordenador archivo por
+archivo, en el orden en que se recibieron. Así el resultado es el mismo que
+al leer en serie, y si el ordenador se atrasa los lectores se bloquean, de
+modo que la memoria queda acotada. */
+public class Ingesta {
+
+	/* Clase interna para la lectura de un archivo en un hilo lector. */
+	private static class Lectura implements Receptor, Runnable {
+
+		/* El archivo que se lee. */
+		private String archivo;
+		/* La cola acotada con los lotes de líneas ya leídas. */
+		private ArrayBlockingQueue<Linea[]> lotes;
+		/* El lote que se está llenando. */
+		private Linea[] lote;
+		/* El número de líneas en el lote. */
+		private int n;
+		/* El error que terminó la lectura, o null. */
+		private volatile Throwable error;
+
+		public Lectura(String archivo) {
+			this.archivo = archivo;
+			lotes = new ArrayBlockingQueue<>(LOTES);
+			lote = new Linea[LOTE];
+		}
+
+		/* Lee el archivo y al terminar, aun con error, entrega el fin. */
+		@Override public void run() {
+			try {
+				leeArchivo(archivo, this);
+				if (n > 0)
+					entrega(Arrays.copyOf(lote, n));
+			} catch (Throwable t) {
+				error = t;
+			}
+			try {
+				lotes.put(FIN);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/* Construye la línea en el hilo lector y la agrega al lote. */
+		@Override public void agrega(char[] linea) throws IOException {
+			lote[n++] = new Linea(linea);
+			if (n == LOTE) {
+				entrega(lote);
+				lote = new Linea[LOTE];
+				n = 0;
+			}
+		}
+
+		/* Pone un lote en la cola; espera si la cola está llena. */
+		private void entrega(Linea[] lote) throws IOException {
+			try {
+				lotes.put(lote);
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+		}
+	}
+
+	/* El número de líneas por lote. */
+	private static final int LOTE = 1024;
+	/* El número máximo de lotes en la cola de cada archivo. */
+	private static final int LOTES = 16;
+	/* El lote que marca el fin de un archivo. */
+	private static final Linea[] FIN = new Linea[0];
+
+	/* Los archivos que faltan por agregar. */
+	private ColaArreglo<String> archivos;
+	/* Las lecturas en curso, en el orden de los archivos; vacía si hay un
+	solo lector. */
+	private ColaArreglo<Lectura> lecturas;
+	/* Los hilos lectores, o null si hay un solo lector. */
+	private ExecutorService lectores;
+
+	/* Crea la etapa para los archivos recibidos, con el número de hilos
+	lectores recibido. Con varios lectores, empieza a leer de inmediato. */
+	public Ingesta(ColaArreglo<String> archivos, int lectores) {
+		if (lectores < 1)
+			throw new IllegalArgumentException();
+		this.archivos = archivos;
+		lecturas = new ColaArreglo<>();
+		if (lectores == 1 || archivos.getElementos() < 2)
+			return;
+		/* Los hilos no deben impedir que el programa termine. */
+		this.lectores = Executors.newFixedThreadPool(lectores, r -> {
+				Thread t = new Thread(r, "lector");
+				t.setDaemon(true);
+				return t;
+			});
+		/* El grupo empieza las lecturas en orden, así que la del archivo
+		que se está agregando siempre está en curso. */
+		String[] nombres = new String[archivos.getElementos()];
+		int m = archivos.drena(nombres);
+		for (int i = 0; i < m; i++) {
+			Lectura lectura = new Lectura(nombres[i]);
+			lecturas.mete(lectura);
+			this.lectores.execute(lectura);
+			archivos.mete(nombres[i]);
+		}
+		this.lectores.shutdown();
+	}
+
+	/* Nos dice si quedan archivos por agregar. */
+	public boolean hayArchivo() {
+		return !archivos.esVacia();
+	}
+
+	/* Regresa el nombre del siguiente archivo por agregar. */
+	public String archivo() {
+		return archivos.mira();
+	}
+
+	/* Agrega al ordenador todas las líneas del siguiente archivo. */
+	public void agrega(Ordenador ordenador) throws IOException {
+		String archivo = archivos.saca();
+		if (lectores == null) {
+			leeArchivo(archivo, ordenador);
+			return;
+		}
+		Lectura lectura = lecturas.saca();
+		try {
+			for (Linea[] lote = lectura.lotes.take(); lote != FIN;
+				 lote = lectura.lotes.take())
+				for (Linea l : lote)
+					ordenador.agrega(l);
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException();
+		}
+		Throwable error = lectura.error;
+		if (error instanceof IOException)
+			throw (IOException) error;
+		if (error instanceof UncheckedIOException)
+			throw ((UncheckedIOException) error).getCause();
+		if (error instanceof RuntimeException)
+			throw (RuntimeException) error;
+		if (error instanceof Error)
+			throw (Error) error;
+	}
+
+	/* Lee un archivo y agrega sus líneas al receptor. Si se puede, mapea el
+	archivo a memoria. */
+	static void leeArchivo(String archivo, Receptor receptor)
+		throws IOException {
+		if (LectorMapeado.soporta(Charset.defaultCharset()) &&
+				Files.isRegularFile(Paths.get(archivo))) {
+			new LectorMapeado(archivo, Charset.defaultCharset()).lee(receptor);
+			return;
+		}
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				Estadisticas.cuenta(new FileInputStream(archivo))));
+		try {
+			leeLineas(in, receptor);
+		} finally {
+			in.close();
+		}
+	}
+
+	/* Lee todas las líneas de la entrada y las agrega al receptor. */
+	static void leeLineas(BufferedReader in, Receptor receptor)
+		throws IOException {
+		String linea = in.readLine();
+		while (linea != null) {
+			if (Contador.activos)
+				Estadisticas.LINEAS.incrementa();
+			receptor.agrega(linea.toCharArray());
+			linea = in.readLine();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.Contador;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/* Clase para leer las líneas de un archivo mapeándolo a memoria. Las líneas
+se separan buscando los fines de línea directamente en los bytes del archivo,
+y cada línea se decodifica una sola vez en el arreglo de caracteres que
+después usa su Linea, sin pasar por una cadena. Los fines de línea son los
+mismos que los de BufferedReader.readLine: '\n', '\r' o "\r\n". */
+public class LectorMapeado {
+
+	/* El tamaño máximo de cada región mapeada del archivo. */
+	private static final int VENTANA = 1 << 30;
+
+	/* El archivo a leer. */
+	private String archivo;
+	/* El decodificador del juego de caracteres. */
+	private CharsetDecoder decodificador;
+	/* Buffer de caracteres que se reutiliza para decodificar. */
+	private CharBuffer caracteres;
+	/* Vista de la región mapeada actual para decodificar sus líneas. */
+	private ByteBuffer vista;
+
+	/* Crea un lector para el archivo recibido, con el juego de caracteres
+	recibido. Los caracteres inválidos se remplazan, igual que en un 
+	InputStreamReader. */
+	public LectorMapeado(String archivo, Charset juego) {
+		this.archivo = archivo;
+		decodificador = juego.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		caracteres = CharBuffer.allocate(256);
+	}
+
+	/* Nos dice si el juego de caracteres se puede leer mapeado: los bytes
+	menores a 0x80 deben ser siempre los mismos caracteres ASCII, para poder
+	buscar los fines de línea y copiar el texto ASCII sin decodificarlo. */
+	public static boolean soporta(Charset juego) {
+		return juego.equals(StandardCharsets.UTF_8) || 
+			juego.equals(StandardCharsets.US_ASCII) ||
+			juego.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/* Lee todas las líneas del archivo y las agrega al receptor. */
+	public void lee(Receptor lineas) throws IOException {
+		FileChannel canal = FileChannel.open(Paths.get(archivo), 
+											 StandardOpenOption.READ);
+		try {
+			long tamano = canal.size();
+			if (Contador.activos)
+				Estadisticas.BYTES.suma(tamano);
+			/* Inicio en el archivo de la región mapeada. */
+			long posicion = 0;
+			/* Tamaño de la región mapeada. */
+			int ventana = VENTANA;
+			while (posicion < tamano) {
+				int n = (int) Math.min(ventana, tamano - posicion);
+				MappedByteBuffer region = canal.map(FileChannel.MapMode.READ_ONLY, 
+													posicion, n);
+				vista = region.duplicate();
+				boolean ultima = posicion + n == tamano;
+				int inicio = 0;
+				boolean ascii = true;
+				int i = 0;
+				while (i < n) {
+					byte b = region.get(i);
+					if (b == '\n' || b == '\r') {
+						/* Si la región termina en '\r', el '\n' que podría
+						seguir está en la siguiente región. */
+						if (b == '\r' && i + 1 == n && !ultima)
+							break;
+						lineas.agrega(decodifica(region, inicio, i, ascii));
+						i += b == '\r' && i + 1 < n && region.get(i + 1) == '\n' ? 2 : 1;
+						inicio = i;
+						ascii = true;
+					} else {
+						if (b < 0)
+							ascii = false;
+						i++;
+					}
+				}
+				if (ultima) {
+					if (inicio < n)
+						lineas.agrega(decodifica(region, inicio, n, ascii));
+					break;
+				}
+				/* La última línea incompleta se lee en la siguiente región; si 
+				ni una línea cabe en la región, la agrandamos. */
+				if (inicio == 0) {
+					if (ventana == Integer.MAX_VALUE)
+						throw new IOException("Línea demasiado larga.");
+					ventana = (int) Math.min(Integer.MAX_VALUE, 2L * ventana);
+				}
+				posicion += inicio;
+			}
+		} finally {
+			canal.close();
+		}
+	}
+
+	/* Decodifica los bytes de la región entre inicio y fin en un arreglo
+	nuevo de caracteres del tamaño exacto. */
+	private char[] decodifica(ByteBuffer region, int inicio, int fin, 
+							  boolean ascii) {
+		if (Contador.activos)
+			Estadisticas.LINEAS.incrementa();
+		int n = fin - inicio;
+		if (ascii) {
+			char[] linea = new char[n];
+			for (int i = 0; i < n; i++)
+				linea[i] = (char) region.get(inicio + i);
+			return linea;
+		}
+		int maximo = (int) Math.ceil(n * (double) decodificador.maxCharsPerByte());
+		if (caracteres.capacity() < maximo)
+			caracteres = CharBuffer.allocate(Math.max(maximo, 2 * caracteres.capacity()));
+		vista.limit(fin).position(inicio);
+		caracteres.clear();
+		decodificador.reset();
+		decodificador.decode(vista, caracteres, true);
+		decodificador.flush(caracteres);
+		caracteres.flip();
+		char[] linea = new char[caracteres.remaining()];
+		caracteres.get(linea);
+		return linea;
+	}
+}
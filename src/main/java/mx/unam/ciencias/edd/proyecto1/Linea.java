@@ -1,111 +1,233 @@
 package mx.unam.ciencias.edd.proyecto1;
 
-/* Clase para implementar el método compareTo adecuado. */
-public class Linea implements Comparable<Linea> {
+import mx.unam.ciencias.edd.Contador;
+import mx.unam.ciencias.edd.Prefijado;
+import java.util.Arrays;
+
+/* Clase para implementar el método compareTo adecuado. Cada línea calcula una
+sola vez su llave de comparación del caso uno, de modo que la mayoría de las
+comparaciones se reducen a buscar la primera diferencia entre dos arreglos.
+Los casos dos y tres sólo se usan en empates y se comparan directamente sobre
+los caracteres; ninguna comparación crea objetos. */
+public class Linea implements Comparable<Linea>, Prefijado {
 
 	/* Las cadenas se comparan caracter por caracter */
 	private char[] caracteres;
 
 	private int longitud;
 
+	/* Llave del caso uno: sólo los números y letras de la línea, sin
+	acentos y en minúsculas. Todos son ASCII, así que se guarda un byte por
+	caracter. Se calcula al construir la línea. */
+	private byte[] llaveUno;
+	/* Número de caracteres no comparables después del último comparable.
+	Si dos líneas tienen la misma llave del caso uno, la que tenga menos
+	caracteres al final termina antes y es menor. */
+	private int cola;
+
 	/* Arreglo con letras con acentos que no queremos tener. */
 	private static char[] arr1;
 	/* Arreglo con las letras que usaremos para remplazar a las anteriores. */
 	private static char[] arr2;
 
+	/* Tablas densas para los caracteres menores a TABLA; los demás caracteres
+	no cambian y nunca son comparables. */
+	private static final int TABLA = 256;
+	/* Cada caracter sin acento. */
+	private static final char[] SIN_ACENTOS = new char[TABLA];
+	/* Cada caracter sin acento y en minúscula. */
+	private static final char[] PLEGADO = new char[TABLA];
+	/* Si cada caracter es un número o una letra. */
+	private static final boolean[] COMPARABLE = new boolean[TABLA];
+
+	/* Las comparaciones que se decidieron en cada caso, y los caracteres que
+	se revisaron en todos. Sólo cuentan si los contadores están activos. */
+	private static final Contador CASO_UNO = new Contador("caso_uno");
+	private static final Contador CASO_DOS = new Contador("caso_dos");
+	private static final Contador CASO_TRES = new Contador("caso_tres");
+	private static final Contador CARACTERES = new Contador("caracteres");
+
 
 	public Linea(String string) {
-		caracteres = string.toCharArray();
+		this(string.toCharArray());
+	}
+
+	/* Construye la línea directamente con el arreglo recibido, sin copiarlo;
+	el arreglo no se debe modificar después. */
+	public Linea(char[] caracteres) {
+		this.caracteres = caracteres;
 		longitud = caracteres.length;
+		/* Primero se cuentan los caracteres comparables, para crear la
+		llave una sola vez y con su tamaño exacto. */
+		int n = 0;
+		for (int i = 0; i < longitud; i++) {
+			if (esComparable(caracteres[i])) {
+				n++;
+				cola = 0;
+			} else 
+				cola++;
+		}
+		llaveUno = new byte[n];
+		for (int i = 0, j = 0; j < n; i++)
+			if (esComparable(caracteres[i]))
+				llaveUno[j++] = (byte) pliega(caracteres[i]);
 	}
 
 	static {
 		arr1 = new char[]{'á','é','í','ó','ú','Á','É','Í','Ó','Ú','ñ','Ñ','ü','Ü'};
 		arr2 = new char[]{'a','e','i','o','u','A','E','I','O','U','n','N','u','U'};
+		for (int c = 0; c < TABLA; c++)
+			SIN_ACENTOS[c] = (char) c;
+		for (int i = 0; i < arr1.length; i++)
+			SIN_ACENTOS[arr1[i]] = arr2[i];
+		for (int c = 0; c < TABLA; c++) {
+			PLEGADO[c] = (char) convierteMinuscula(SIN_ACENTOS[c]);
+			COMPARABLE[c] = caracterComparable(PLEGADO[c]);
+		}
 	}
 
 	public String get() {
 		return String.valueOf(caracteres);
 	}
 
+	/* Regresa los caracteres de la línea sin copiarlos, para escribirlos;
+	el arreglo no se debe modificar. */
+	char[] caracteres() {
+		return caracteres;
+	}
+
+	/* Regresa la llave del caso uno sin copiarla; el arreglo no se debe
+	modificar. */
+	byte[] llave() {
+		return llaveUno;
+	}
+
+	/* Regresa los primeros ocho caracteres de la llave del caso uno, un byte
+	por caracter y rellenando con ceros. Los caracteres de la llave son números
+	y letras ASCII, distintos de cero, así que si dos prefijos son distintos
+	ordenan igual que el caso uno, que en ese caso decide la comparación. */
+	@Override public long getPrefijo() {
+		long prefijo = 0;
+		int n = Math.min(llaveUno.length, 8);
+		for (int i = 0; i < n; i++)
+			prefijo |= (long) llaveUno[i] << (56 - 8 * i);
+		return prefijo;
+	}
+
+	/* Regresa los contadores de las comparaciones. */
+	static Contador[] getContadores() {
+		return new Contador[] { CASO_UNO, CASO_DOS, CASO_TRES, CARACTERES };
+	}
+
 	@Override public int compareTo(Linea linea) {
 		/* Usamos el primer caso de comparación, 
 		sólo números y letras e ignorando mayúsculas. */
-		return compareTo(linea, 0, 0, Caso.UNO); 
-	}
-
-	/* Método auxiliar para hacer recursion en compareTo. */
-	private int compareTo(Linea linea, int it1, int it2, Caso caso) {
-		/* Si recorrimos ambas cadenas y no hay diferencias, o ambas son vacías. */
-		if (longitud == it1 && linea.longitud == it2) {
-			switch (caso) {
-				/* Si con el caso uno se compararon iguales pasamos 
-				al segundo caso, tomando las mayúsculas en cuenta. */
-				case UNO:
-					return compareTo(linea, 0, 0, Caso.DOS);
-				/* Si con el segundo caso se compararon tambien iguales 
-				pasamos al tercer caso, tomando en cuenta cualquier caracter. */ 
-				case DOS:
-					return compareTo(linea, 0, 0, Caso.TRES);
-				/* Si llegamos a este caso, las cadenas son iguales. */
-				default:
-					return 0;
-			}
+		int s = comparaUno(linea);
+		if (s != 0) {
+			if (Contador.activos)
+				CASO_UNO.incrementa();
+			return s;
 		}
-		/* Si la cadena que mando llamar el método ya fue 
-		recorrida por completo o es vacía, y la otra no. */
-		else if (longitud == it1) 
+		/* Si con el caso uno se compararon iguales pasamos 
+		al segundo caso, tomando las mayúsculas en cuenta. */
+		s = comparaDos(linea);
+		if (s != 0) {
+			if (Contador.activos)
+				CASO_DOS.incrementa();
+			return s;
+		}
+		/* Si con el segundo caso se compararon tambien iguales 
+		pasamos al tercer caso, tomando en cuenta cualquier caracter. */ 
+		if (Contador.activos)
+			CASO_TRES.incrementa();
+		return comparaTres(linea);
+	}
+
+	/* Compara con el caso uno usando las llaves ya calculadas. */
+	private int comparaUno(Linea linea) {
+		int i = Arrays.mismatch(llaveUno, linea.llaveUno);
+		if (Contador.activos)
+			CARACTERES.suma(i < 0 ? llaveUno.length :
+							Math.min(i + 1, llaveUno.length));
+		/* Si las llaves son iguales, termina primero la 
+		línea con menos caracteres no comparables al final. */
+		if (i < 0)
+			return cola == linea.cola ? 0 : cola < linea.cola ? -1 : 1;
+		/* Si una llave es prefijo de la otra, la más corta es menor. */
+		else if (i == llaveUno.length)
 			return -1;
-		/* Si la cadena pasada como parámetro ya fue 
-		recorrida por completo o es vacía, y la otra no. */
-		else if (linea.longitud == it2) 
+		else if (i == linea.llaveUno.length)
 			return 1;
-		else {
-			/* arreglo con los dos caracteres a comparar. */
-			char[] actual = {sinAcentos(caracteres[it1]), 
-								sinAcentos(linea.caracteres[it2])};
-			/* arreglo con los caracteres a comparar audicionados como números. */
-			int[] auxiliares = new int[2];
-			for (int k = 0; k < 2; k++) {
-				/* Sólo en el caso dos no convertimos los caracteres a minúsculas. */
-				if (caso != Caso.DOS)
-					auxiliares[k] = convierteMinuscula(actual[k]);
-				else 
-					auxiliares[k] = (int) actual[k];
+		return llaveUno[i] - linea.llaveUno[i];
+	}
+
+	/* Compara con el caso dos: sólo números y letras, sin acentos pero
+	respetando mayúsculas. Sólo se usa si el caso uno empató, así que ambas
+	líneas tienen el mismo número de caracteres comparables. */
+	private int comparaDos(Linea linea) {
+		int i = 0, j = 0;
+		while (true) {
+			while (i < longitud && !esComparable(caracteres[i]))
+				i++;
+			while (j < linea.longitud && !esComparable(linea.caracteres[j]))
+				j++;
+			if (i == longitud || j == linea.longitud) {
+				if (Contador.activos)
+					CARACTERES.suma(i);
+				return i == longitud ? (j == linea.longitud ? 0 : -1) : 1;
+			}
+			char a = sinAcentos(caracteres[i]);
+			char b = sinAcentos(linea.caracteres[j]);
+			/*El programa Sort de Unix ordena primero las minúsculas, 
+			aunque en Unicode sea al revés. */
+			if (a != b) {
+				if (Contador.activos)
+					CARACTERES.suma(i + 1);
+				return b - a;
 			}
-			/* Sólo en el caso tres permitimos caracteres que no sean números ni letras. */
-			if (auxiliares[0] == auxiliares[1] || (caso != Caso.TRES ? 
-									(!caracterComparable(auxiliares[0]) && 
-										!caracterComparable(auxiliares[1])) : false))
-				return compareTo(linea, it1 + 1, it2 +1, caso);
-			else if ((caso != Caso.TRES ? 
-								!caracterComparable(auxiliares[0]) : false))
-				return compareTo(linea, it1 + 1, it2, caso);
-			else if ((caso != Caso.TRES ? 
-								!caracterComparable(auxiliares[1]) : false))
-				return compareTo(linea, it1, it2 + 1, caso);
-			else {
-				int s = auxiliares[0] - auxiliares[1];
-				/*El programa Sort de Unix ordena primero las minúsculas, 
-				aunque en Unicode sea al revés. Lo mismo cuando tomamos en
-				cuenta espacios. */
-				if (caso == Caso.DOS || esUnEspacio(auxiliares[0]) || 
-						esUnEspacio(auxiliares[1]))
+			i++;
+			j++;
+		}
+	}
+
+	/* Compara con el caso tres: todos los caracteres, sin acentos y en
+	minúsculas. */
+	private int comparaTres(Linea linea) {
+		int n = Math.min(longitud, linea.longitud);
+		for (int i = 0; i < n; i++) {
+			char a = pliega(caracteres[i]);
+			char b = pliega(linea.caracteres[i]);
+			if (a != b) {
+				if (Contador.activos)
+					CARACTERES.suma(i + 1);
+				int s = a - b;
+				/* Igual que con las minúsculas, Sort de Unix 
+				invierte el orden cuando hay espacios. */
+				if (esUnEspacio(a) || esUnEspacio(b))
 					s = -s;
-				return s; 
-			} 
+				return s;
+			}
 		}
+		if (Contador.activos)
+			CARACTERES.suma(n);
+		return longitud == linea.longitud ? 0 : longitud < linea.longitud ? -1 : 1;
 	}
 
 	/* Método auxiliar no destructivo para ignorar letras
 	con acentos que no queremos comparar. */
 	private static char sinAcentos(char c) {
-		char s = c;
-		for (int i = 0; i < arr1.length; i++) {
-			if (s == arr1[i])
-				s = arr2[i];
-		}
-		return s;
+		return c < TABLA ? SIN_ACENTOS[c] : c;
+	}
+
+	/* Método auxiliar que quita el acento y convierte a minúscula. */
+	private static char pliega(char c) {
+		return c < TABLA ? PLEGADO[c] : c;
+	}
+
+	/* Nos dice si el caracter es un número o una letra, sin importar
+	acentos ni mayúsculas. */
+	private static boolean esComparable(char c) {
+		return c < TABLA && COMPARABLE[c];
 	}
 	
 	private static boolean caracterComparable(int c) {
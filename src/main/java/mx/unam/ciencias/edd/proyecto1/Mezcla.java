@@ -0,0 +1,85 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Clase para mezclar varias fuentes de líneas ya ordenadas en una sola. Las
+fuentes se agregan en el orden en que se leyeron sus líneas; así la mezcla
+deja los empates igual que si todas las líneas se hubieran agregado a un
+solo árbol rojinegro. */
+public class Mezcla implements Iterator<Linea> {
+
+	/* Clase interna para la línea al frente de cada fuente. */
+	private class Frente implements Comparable<Frente> {
+
+		/* La línea actual de la fuente. */
+		private Linea linea;
+		/* El número de la fuente, en el orden en que se agregó. */
+		private int numero;
+		/* El resto de la fuente. */
+		private Iterator<Linea> fuente;
+
+		/* En el árbol los empates quedan en orden inverso de inserción, así
+		que en la mezcla los empates los gana la fuente más reciente; en
+		reversa es al revés. Dos frentes nunca se comparan iguales. */
+		@Override public int compareTo(Frente frente) {
+			int c = linea.compareTo(frente.linea);
+			if (reversa)
+				c = -c;
+			if (c != 0)
+				return c;
+			return reversa ? numero - frente.numero : frente.numero - numero;
+		}
+	}
+
+	/* Árbol con el frente de cada fuente que aún tiene líneas. */
+	private ArbolRojinegro<Frente> frentes;
+	/* Si las fuentes están en reversa. */
+	private boolean reversa;
+	/* El número de fuentes agregadas. */
+	private int fuentes;
+
+	/* Crea una mezcla vacía; si reversa es true, las fuentes deben regresar
+	sus líneas de mayor a menor. */
+	public Mezcla(boolean reversa) {
+		frentes = new ArbolRojinegro<>();
+		this.reversa = reversa;
+	}
+
+	/* Agrega una fuente ordenada. Las fuentes se deben agregar en el orden en
+	que se leyeron sus líneas. */
+	public void agrega(Iterator<Linea> fuente) {
+		Frente f = new Frente();
+		f.numero = fuentes++;
+		f.fuente = fuente;
+		if (fuente.hasNext()) {
+			f.linea = fuente.next();
+			frentes.agrega(f);
+		}
+	}
+
+	@Override public boolean hasNext() {
+		return !frentes.esVacia();
+	}
+
+	@Override public Linea next() {
+		if (frentes.esVacia())
+			throw new NoSuchElementException();
+		/* El frente se saca por posición y no buscándolo, así que la mezcla
+		termina aunque el orden de las líneas no sea transitivo. */
+		Frente f = frentes.eliminaMinimo();
+		Linea linea = f.linea;
+		if (f.fuente.hasNext()) {
+			f.linea = f.fuente.next();
+			frentes.agrega(f);
+		}
+		return linea;
+	}
+
+	/* Regresa un iterador sobre el árbol, en reversa si es el caso. */
+	public static Iterator<Linea> recorrido(ArbolRojinegro<Linea> arbol, 
+											boolean reversa) {
+		return reversa ? arbol.iteradorInverso() : arbol.iterator();
+	}
+}
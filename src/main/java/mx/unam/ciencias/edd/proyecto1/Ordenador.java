@@ -0,0 +1,38 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/* Interfaz para las distintas formas de ordenar las líneas. Un ordenador
+recibe las líneas de una en una y al recorrerlo las regresa ya ordenadas,
+en el orden en que se deben mostrar. */
+public interface Ordenador extends Receptor, Iterable<Linea> {
+
+	/* Agrega una línea por ordenar. El arreglo pasa a ser del ordenador y 
+	no se debe modificar después. */
+	@Override public void agrega(char[] linea) throws IOException;
+
+	/* Agrega una línea ya construida. Por omisión agrega sus caracteres. */
+	public default void agrega(Linea linea) throws IOException {
+		agrega(linea.caracteres());
+	}
+
+	/* Nos dice si no se ha agregado ninguna línea. */
+	public boolean esVacio();
+
+	/* Regresa un iterador sobre las líneas ordenadas que empieza en la línea
+	con el índice recibido, contando desde cero. Por omisión recorre y se
+	salta las anteriores. */
+	public default Iterator<Linea> iterator(int desde) {
+		Iterator<Linea> iterador = iterator();
+		for (int i = 0; i < desde && iterador.hasNext(); i++)
+			iterador.next();
+		return iterador;
+	}
+
+	/* Regresa la altura del árbol con las líneas, o -1 si el ordenador no
+	las guarda en un solo árbol. */
+	public default int altura() {
+		return -1;
+	}
+}
@@ -0,0 +1,49 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import java.util.Collections;
+import java.util.Iterator;
+
+/* Ordenador que guarda todas las líneas en un árbol rojinegro. El árbol
+permanece ordenado cada vez que una línea nueva se agrega. */
+public class OrdenadorArbol implements Ordenador {
+
+	/* Árbol rojinegro con las lineas a ordenar. */
+	private ArbolRojinegro<Linea> lineas;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+
+	public OrdenadorArbol(boolean reversa) {
+		lineas = new ArbolRojinegro<>();
+		this.reversa = reversa;
+	}
+
+	@Override public void agrega(char[] linea) {
+		agrega(new Linea(linea));
+	}
+
+	@Override public void agrega(Linea linea) {
+		lineas.agrega(linea);
+	}
+
+	@Override public boolean esVacio() {
+		return lineas.esVacia();
+	}
+
+	@Override public int altura() {
+		return lineas.altura();
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		return Mezcla.recorrido(lineas, reversa);
+	}
+
+	/* Empieza directamente en la línea con el índice recibido; el árbol la
+	encuentra en tiempo logarítmico. */
+	@Override public Iterator<Linea> iterator(int desde) {
+		int n = lineas.getElementos();
+		if (desde >= n)
+			return Collections.emptyIterator();
+		return lineas.iteradorDesde(reversa ? n - 1 - desde : desde, reversa);
+	}
+}
@@ -0,0 +1,40 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegroArreglo;
+import java.util.Iterator;
+
+/* Ordenador que guarda todas las líneas en un árbol rojinegro sobre
+arreglos. Ordena igual que OrdenadorArbol, pero cada línea ocupa unas
+cuantas entradas de arreglos en lugar de un objeto vértice. */
+public class OrdenadorArreglo implements Ordenador {
+
+	/* Árbol rojinegro sobre arreglos con las lineas a ordenar. */
+	private ArbolRojinegroArreglo<Linea> lineas;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+
+	public OrdenadorArreglo(boolean reversa) {
+		lineas = new ArbolRojinegroArreglo<>();
+		this.reversa = reversa;
+	}
+
+	@Override public void agrega(char[] linea) {
+		agrega(new Linea(linea));
+	}
+
+	@Override public void agrega(Linea linea) {
+		lineas.agrega(linea);
+	}
+
+	@Override public boolean esVacio() {
+		return lineas.esVacia();
+	}
+
+	@Override public int altura() {
+		return lineas.altura();
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		return reversa ? lineas.iteradorInverso() : lineas.iterator();
+	}
+}
@@ -0,0 +1,138 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ColaArreglo;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Ordenador para entradas que no caben en memoria. Las líneas se ordenan
+por bloques de tamaño acotado en un árbol rojinegro; cada bloque lleno se
+guarda ordenado en un archivo temporal, y al final todos los bloques se
+mezclan, leyendo una línea a la vez de cada uno. */
+public class OrdenadorExterno implements Ordenador {
+
+	/* Clase interna para recorrer un bloque guardado en disco. Al terminar
+	de recorrerlo, el archivo temporal se borra. */
+	private static class Bloque implements Iterator<Linea> {
+
+		/* El archivo temporal del bloque. */
+		private File archivo;
+		/* El lector del archivo temporal. */
+		private BufferedReader in;
+		/* La siguiente línea del bloque, o null si ya no hay. */
+		private String siguiente;
+
+		public Bloque(File archivo) throws IOException {
+			this.archivo = archivo;
+			in = new BufferedReader(new InputStreamReader(
+					new FileInputStream(archivo), StandardCharsets.UTF_8));
+			avanza();
+		}
+
+		/* Lee la siguiente línea del archivo. */
+		private void avanza() throws IOException {
+			siguiente = in.readLine();
+			if (siguiente == null) {
+				in.close();
+				archivo.delete();
+			}
+		}
+
+		@Override public boolean hasNext() {
+			return siguiente != null;
+		}
+
+		@Override public Linea next() {
+			if (siguiente == null)
+				throw new NoSuchElementException();
+			Linea linea = new Linea(siguiente);
+			try {
+				avanza();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return linea;
+		}
+	}
+
+	/* El número máximo de líneas que se mantienen en memoria. */
+	private int limite;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* El bloque que se está llenando. */
+	private ArbolRojinegro<Linea> bloque;
+	/* Los archivos temporales con los bloques ya ordenados. */
+	private ColaArreglo<File> bloques;
+	/* El número total de líneas agregadas. */
+	private long lineas;
+
+	/* Crea un ordenador que mantiene a lo más limite líneas en memoria. */
+	public OrdenadorExterno(int limite, boolean reversa) {
+		if (limite < 1)
+			throw new IllegalArgumentException();
+		this.limite = limite;
+		this.reversa = reversa;
+		bloque = new ArbolRojinegro<>();
+		bloques = new ColaArreglo<>();
+	}
+
+	@Override public void agrega(char[] linea) throws IOException {
+		agrega(new Linea(linea));
+	}
+
+	/* Agrega una línea; si el bloque actual se llena, se vuelca a disco. */
+	@Override public void agrega(Linea linea) throws IOException {
+		bloque.agrega(linea);
+		lineas++;
+		if (bloque.getElementos() >= limite)
+			vuelca();
+	}
+
+	@Override public boolean esVacio() {
+		return lineas == 0;
+	}
+
+	/* Escribe el bloque actual, ordenado, en un archivo temporal. Los archivos
+	temporales siempre usan UTF-8 para no perder caracteres. */
+	private void vuelca() throws IOException {
+		File archivo = File.createTempFile("proyecto1-", ".bloque");
+		archivo.deleteOnExit();
+		BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(archivo), StandardCharsets.UTF_8));
+		try {
+			Iterator<Linea> iterador = Mezcla.recorrido(bloque, reversa);
+			while (iterador.hasNext()) {
+				out.write(iterador.next().get());
+				out.write('\n');
+			}
+		} finally {
+			out.close();
+		}
+		bloques.mete(archivo);
+		bloque = new ArbolRojinegro<>();
+	}
+
+	/* Regresa un iterador que mezcla todos los bloques. Los bloques en disco
+	se consumen al recorrerlos, así que el ordenador sólo se recorre una vez. */
+	@Override public Iterator<Linea> iterator() {
+		Mezcla mezcla = new Mezcla(reversa);
+		try {
+			while (!bloques.esVacia())
+				mezcla.agrega(new Bloque(bloques.saca()));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		mezcla.agrega(Mezcla.recorrido(bloque, reversa));
+		return mezcla;
+	}
+}
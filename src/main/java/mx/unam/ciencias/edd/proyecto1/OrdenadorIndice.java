@@ -0,0 +1,401 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Ordenador que mantiene las líneas ordenadas en un archivo de índice. Sólo
+las líneas nuevas se ordenan en memoria, con el ordenador que recibe; al
+actualizar, se mezclan con las del índice en una sola pasada secuencial y el
+índice se remplaza. Los empates quedan igual que si todas las líneas, las del
+índice primero, se hubieran agregado a un solo árbol rojinegro.
+
+El archivo tiene tres partes:
+ - las líneas en orden, cada una como su longitud en bytes (un entero de
+   siete bits por byte, el más alto indica que sigue otro byte) seguida de
+   sus caracteres en UTF-8;
+ - el bloque de índice: la posición en el archivo de la primera línea de cada
+   bloque de SALTO líneas, como long;
+ - el final: el número de líneas (long), la posición del bloque de índice
+   (long), el salto (int) y la firma (long).
+Con el bloque de índice, el recorrido puede empezar en cualquier línea y
+también hacerse en reversa, leyendo bloque por bloque. Las líneas del índice
+guardan sus bytes, y al mezclar se escriben tal cual, sin codificarlas otra
+vez; sólo las líneas nuevas se codifican. */
+public class OrdenadorIndice implements Ordenador {
+
+	/* Clase interna para las líneas leídas del índice: además de sus
+	caracteres, recuerdan dónde están sus bytes en el bloque leído. */
+	private static class LineaIndice extends Linea {
+
+		/* Los bytes del bloque de la línea. */
+		private byte[] bloque;
+		/* El inicio de los bytes de la línea en el bloque. */
+		private int inicio;
+		/* El número de bytes de la línea. */
+		private int longitud;
+
+		public LineaIndice(char[] caracteres, byte[] bloque, int inicio,
+						   int longitud) {
+			super(caracteres);
+			this.bloque = bloque;
+			this.inicio = inicio;
+			this.longitud = longitud;
+		}
+	}
+
+	/* Clase interna para recorrer las líneas del índice, bloque por bloque,
+	en orden o en reversa. */
+	private class Recorrido implements Iterator<Linea> {
+
+		/* El canal del archivo; se cierra al terminar. */
+		private FileChannel canal;
+		/* Si el recorrido es en reversa. */
+		private boolean inverso;
+		/* El bloque actual. */
+		private int bloque;
+		/* Las líneas del bloque actual. */
+		private Linea[] lineasBloque;
+		/* El índice en el bloque de la siguiente línea, o -1 (o la longitud
+		del bloque, en orden) si hay que leer otro. */
+		private int i;
+		/* Las líneas que faltan. */
+		private long faltan;
+
+		/* Empieza el recorrido en la línea con el índice recibido, contando
+		en el orden del recorrido. */
+		public Recorrido(long desde, boolean inverso) throws IOException {
+			this.inverso = inverso;
+			faltan = lineas - desde;
+			if (faltan <= 0)
+				return;
+			long j = inverso ? lineas - 1 - desde : desde;
+			canal = FileChannel.open(archivo, StandardOpenOption.READ);
+			bloque = (int) (j / salto);
+			lineasBloque = leeBloque(canal, bloque);
+			i = (int) (j % salto);
+		}
+
+		@Override public boolean hasNext() {
+			return faltan > 0;
+		}
+
+		@Override public Linea next() {
+			if (faltan <= 0)
+				throw new NoSuchElementException();
+			try {
+				if (i < 0 || i == lineasBloque.length) {
+					bloque += inverso ? -1 : 1;
+					lineasBloque = leeBloque(canal, bloque);
+					i = inverso ? lineasBloque.length - 1 : 0;
+				}
+				Linea linea = lineasBloque[inverso ? i-- : i++];
+				if (--faltan == 0)
+					canal.close();
+				return linea;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/* La firma al final de todo archivo de índice. */
+	private static final long FIRMA = 0x4f7264496e646963L;
+	/* El número de líneas de cada bloque en los índices nuevos. */
+	private static final int SALTO = 64;
+	/* El tamaño del final del archivo, en bytes. */
+	private static final int FINAL = 8 + 8 + 4 + 8;
+
+	/* El archivo de índice. */
+	private Path archivo;
+	/* El ordenador de las líneas nuevas. */
+	private Ordenador nuevas;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* El número de líneas en el índice. */
+	private long lineas;
+	/* El número de líneas por bloque en el índice. */
+	private int salto;
+	/* La posición de la primera línea de cada bloque. */
+	private long[] posiciones;
+	/* La posición del bloque de índice, donde terminan las líneas. */
+	private long datos;
+	/* El codificador de las líneas nuevas y su buffer, que se reutiliza. */
+	private CharsetEncoder codificador;
+	private ByteBuffer bytes;
+	/* El decodificador de las líneas del índice y su buffer, que se
+	reutiliza. */
+	private CharsetDecoder decodificador;
+	private CharBuffer caracteres;
+
+	/* Crea un ordenador sobre el archivo de índice recibido, que puede no
+	existir todavía; las líneas nuevas se ordenan con el ordenador recibido,
+	que debe regresarlas en orden y no en reversa. */
+	public OrdenadorIndice(String archivo, Ordenador nuevas, boolean reversa) {
+		this.archivo = Paths.get(archivo);
+		this.nuevas = nuevas;
+		this.reversa = reversa;
+		posiciones = new long[0];
+		salto = SALTO;
+		/* Los caracteres inválidos se remplazan, igual que en una cadena. */
+		codificador = StandardCharsets.UTF_8.newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		decodificador = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		bytes = ByteBuffer.allocate(256);
+		caracteres = CharBuffer.allocate(256);
+	}
+
+	@Override public void agrega(char[] linea) throws IOException {
+		nuevas.agrega(linea);
+	}
+
+	@Override public void agrega(Linea linea) throws IOException {
+		nuevas.agrega(linea);
+	}
+
+	/* Nos dice si no se ha agregado ninguna línea nueva. */
+	@Override public boolean esVacio() {
+		return nuevas.esVacio();
+	}
+
+	/* Mezcla las líneas nuevas con las del índice, si existe, y remplaza el
+	índice con el resultado. El índice nuevo se escribe primero en un archivo
+	temporal junto al original, así que si algo falla el original no cambia y
+	el temporal se borra. Se debe invocar una sola vez, antes de recorrer el
+	ordenador. */
+	public void actualiza() throws IOException {
+		carga();
+		Mezcla mezcla = new Mezcla(false);
+		mezcla.agrega(new Recorrido(0, false));
+		mezcla.agrega(nuevas.iterator());
+		Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+		long[] nuevasPosiciones = new long[16];
+		long posicion = 0;
+		long n = 0;
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(temporal), 1 << 16));
+		boolean remplazado = false;
+		try {
+			while (mezcla.hasNext()) {
+				Linea linea = mezcla.next();
+				byte[] arreglo;
+				int inicio, longitud;
+				if (linea instanceof LineaIndice) {
+					LineaIndice l = (LineaIndice) linea;
+					arreglo = l.bloque;
+					inicio = l.inicio;
+					longitud = l.longitud;
+				} else {
+					codifica(linea.caracteres());
+					arreglo = bytes.array();
+					inicio = 0;
+					longitud = bytes.limit();
+				}
+				if (n % SALTO == 0) {
+					int b = (int) (n / SALTO);
+					if (b == nuevasPosiciones.length)
+						nuevasPosiciones = Arrays.copyOf(nuevasPosiciones, 2 * b);
+					nuevasPosiciones[b] = posicion;
+				}
+				posicion += escribeLongitud(out, longitud);
+				out.write(arreglo, inicio, longitud);
+				posicion += longitud;
+				n++;
+			}
+			int bloques = bloques(n, SALTO);
+			for (int b = 0; b < bloques; b++)
+				out.writeLong(nuevasPosiciones[b]);
+			out.writeLong(n);
+			out.writeLong(posicion);
+			out.writeInt(SALTO);
+			out.writeLong(FIRMA);
+			out.close();
+			Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING,
+					   StandardCopyOption.ATOMIC_MOVE);
+			remplazado = true;
+			lineas = n;
+			salto = SALTO;
+			posiciones = Arrays.copyOf(nuevasPosiciones, bloques);
+			datos = posicion;
+		} finally {
+			/* Con cualquier error, aunque sea al cerrar, el temporal se
+			borra; cerrarlo otra vez no hace nada. */
+			if (!remplazado) {
+				try {
+					out.close();
+				} finally {
+					Files.deleteIfExists(temporal);
+				}
+			}
+		}
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		return iterator(0);
+	}
+
+	/* Empieza directamente en el bloque de la línea con el índice recibido. */
+	@Override public Iterator<Linea> iterator(int desde) {
+		if (desde >= lineas)
+			return Collections.emptyIterator();
+		try {
+			return new Recorrido(desde, reversa);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/* Método auxiliar que lee el final y el bloque de índice del archivo, si
+	existe, y verifica que sea un índice. */
+	private void carga() throws IOException {
+		if (!Files.exists(archivo))
+			return;
+		FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+		try {
+			long tamano = canal.size();
+			if (tamano < FINAL)
+				throw new IOException("No es un índice: " + archivo);
+			ByteBuffer fin = lee(canal, tamano - FINAL, FINAL);
+			lineas = fin.getLong();
+			datos = fin.getLong();
+			salto = fin.getInt();
+			if (fin.getLong() != FIRMA || lineas < 0 || salto < 1 || datos < 0 ||
+				bloques(lineas, salto) * 8L != tamano - FINAL - datos)
+				throw new IOException("No es un índice: " + archivo);
+			ByteBuffer bloque = lee(canal, datos, bloques(lineas, salto) * 8);
+			posiciones = new long[bloques(lineas, salto)];
+			for (int b = 0; b < posiciones.length; b++)
+				posiciones[b] = bloque.getLong();
+		} finally {
+			canal.close();
+		}
+	}
+
+	/* Método auxiliar que lee las líneas de un bloque. */
+	private Linea[] leeBloque(FileChannel canal, int b) throws IOException {
+		long inicio = posiciones[b];
+		long fin = b + 1 < posiciones.length ? posiciones[b + 1] : datos;
+		if (fin - inicio > Integer.MAX_VALUE || fin < inicio)
+			throw new IOException("Índice dañado: " + archivo);
+		ByteBuffer datosBloque = lee(canal, inicio, (int) (fin - inicio));
+		int n = (int) Math.min(salto, lineas - (long) b * salto);
+		Linea[] bloque = new Linea[n];
+		for (int i = 0; i < n; i++) {
+			int longitud = leeLongitud(datosBloque);
+			if (longitud > datosBloque.remaining())
+				throw new IOException("Índice dañado: " + archivo);
+			int p = datosBloque.position();
+			bloque[i] = new LineaIndice(decodifica(datosBloque, p, longitud),
+										datosBloque.array(), p, longitud);
+			datosBloque.position(p + longitud);
+		}
+		return bloque;
+	}
+
+	/* Método auxiliar que decodifica los bytes de una línea del índice en
+	un arreglo nuevo de caracteres del tamaño exacto, sin pasar por una
+	cadena. */
+	private char[] decodifica(ByteBuffer datosBloque, int inicio, int n) {
+		byte[] a = datosBloque.array();
+		int i = 0;
+		while (i < n && a[inicio + i] >= 0)
+			i++;
+		if (i == n) {
+			char[] linea = new char[n];
+			for (i = 0; i < n; i++)
+				linea[i] = (char) a[inicio + i];
+			return linea;
+		}
+		int maximo = (int) Math.ceil(n * (double) decodificador.maxCharsPerByte());
+		if (caracteres.capacity() < maximo)
+			caracteres = CharBuffer.allocate(Math.max(maximo, 2 * caracteres.capacity()));
+		caracteres.clear();
+		decodificador.reset();
+		decodificador.decode(ByteBuffer.wrap(a, inicio, n), caracteres, true);
+		decodificador.flush(caracteres);
+		caracteres.flip();
+		char[] linea = new char[caracteres.remaining()];
+		caracteres.get(linea);
+		return linea;
+	}
+
+	/* Método auxiliar que codifica los caracteres de una línea nueva en el
+	buffer de bytes, que queda listo para leerse. */
+	private void codifica(char[] linea) {
+		int maximo = (int) Math.ceil(linea.length *
+									 (double) codificador.maxBytesPerChar());
+		if (bytes.capacity() < maximo)
+			bytes = ByteBuffer.allocate(Math.max(maximo, 2 * bytes.capacity()));
+		bytes.clear();
+		codificador.reset();
+		codificador.encode(CharBuffer.wrap(linea), bytes, true);
+		codificador.flush(bytes);
+		bytes.flip();
+	}
+
+	/* Método auxiliar que lee del canal el número de bytes recibido a partir
+	de la posición recibida. */
+	private static ByteBuffer lee(FileChannel canal, long posicion, int n)
+		throws IOException {
+		ByteBuffer bytes = ByteBuffer.allocate(n);
+		while (bytes.hasRemaining())
+			if (canal.read(bytes, posicion + bytes.position()) < 0)
+				throw new EOFException();
+		bytes.flip();
+		return bytes;
+	}
+
+	/* Método auxiliar que escribe una longitud, siete bits por byte, y
+	regresa cuántos bytes escribió. */
+	private static int escribeLongitud(DataOutputStream out, int longitud)
+		throws IOException {
+		int n = 1;
+		while ((longitud & ~0x7f) != 0) {
+			out.write((longitud & 0x7f) | 0x80);
+			longitud >>>= 7;
+			n++;
+		}
+		out.write(longitud);
+		return n;
+	}
+
+	/* Método auxiliar que lee una longitud escrita por escribeLongitud. */
+	private static int leeLongitud(ByteBuffer bytes) throws IOException {
+		int longitud = 0;
+		for (int corrimiento = 0; corrimiento < 32; corrimiento += 7) {
+			if (!bytes.hasRemaining())
+				throw new EOFException();
+			int b = bytes.get();
+			longitud |= (b & 0x7f) << corrimiento;
+			if ((b & 0x80) == 0)
+				return longitud;
+		}
+		throw new IOException("Longitud inválida");
+	}
+
+	/* Método auxiliar que regresa el número de bloques de un índice. */
+	private static int bloques(long lineas, int salto) {
+		return (int) ((lineas + salto - 1) / salto);
+	}
+}
@@ -0,0 +1,71 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ColaArreglo;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/* Ordenador que usa varios hilos. Las líneas se guardan en el orden en que
+llegan; al recorrerlo se parten en tantas particiones contiguas como hilos,
+cada partición se ordena en su propio árbol rojinegro en un ForkJoinPool, y
+después las particiones se mezclan en orden. */
+public class OrdenadorParalelo implements Ordenador {
+
+	/* El número de hilos. */
+	private int hilos;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* Las líneas en el orden en que se agregaron. */
+	private ColaArreglo<char[]> lineas;
+	/* El número de líneas agregadas. */
+	private int elementos;
+
+	/* Crea un ordenador que usa el número de hilos recibido. */
+	public OrdenadorParalelo(int hilos, boolean reversa) {
+		if (hilos < 1)
+			throw new IllegalArgumentException();
+		this.hilos = hilos;
+		this.reversa = reversa;
+		lineas = new ColaArreglo<>();
+	}
+
+	@Override public void agrega(char[] linea) {
+		lineas.mete(linea);
+		elementos++;
+	}
+
+	@Override public boolean esVacio() {
+		return elementos == 0;
+	}
+
+	/* Método auxiliar que ordena una partición en su propio árbol. */
+	private static ArbolRojinegro<Linea> ordena(char[][] particion) {
+		ArbolRojinegro<Linea> arbol = new ArbolRojinegro<>();
+		for (char[] s : particion)
+			arbol.agrega(new Linea(s));
+		return arbol;
+	}
+
+	/* Ordena las particiones en paralelo y regresa su mezcla. Las líneas
+	agregadas se consumen, así que el ordenador sólo se recorre una vez. */
+	@Override public Iterator<Linea> iterator() {
+		int n = Math.max(1, Math.min(hilos, elementos));
+		ForkJoinPool pool = new ForkJoinPool(n);
+		ColaArreglo<ForkJoinTask<ArbolRojinegro<Linea>>> tareas = new ColaArreglo<>();
+		/* Las particiones son contiguas para que la mezcla deje los
+		empates igual que el ordenamiento en un solo hilo. */
+		for (int p = 0; p < n; p++) {
+			char[][] particion = new char[(int) ((long) elementos * (p + 1) / n - 
+												   (long) elementos * p / n)][];
+			lineas.drena(particion);
+			tareas.mete(pool.submit(() -> ordena(particion)));
+		}
+		elementos = 0;
+		Mezcla mezcla = new Mezcla(reversa);
+		while (!tareas.esVacia())
+			mezcla.agrega(Mezcla.recorrido(tareas.saca().join(), reversa));
+		pool.shutdown();
+		return mezcla;
+	}
+}
@@ -0,0 +1,70 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import java.util.Iterator;
+
+/* Ordenador que sólo guarda las líneas que van a mostrarse: las primeras o
+las últimas del orden completo. El árbol nunca tiene más líneas que el
+límite; cuando está lleno y llega una línea que le gana a la peor que se
+guarda, la peor se desaloja. Así el tiempo es O(n log N) y la memoria O(N)
+para N el límite. */
+public class OrdenadorPrimeros implements Ordenador {
+
+	/* Árbol rojinegro con a lo más limite líneas. */
+	private ArbolRojinegro<Linea> lineas;
+	/* El número máximo de líneas que se guardan. */
+	private int limite;
+	/* Si se guardan las mayores líneas; si no, las menores. */
+	private boolean mayores;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* La línea que se desaloja primero, o null si el árbol no está lleno. */
+	private Linea peor;
+
+	/* Crea un ordenador que regresa las primeras limite líneas de la salida
+	o, si primeras es false, las últimas. */
+	public OrdenadorPrimeros(int limite, boolean primeras, boolean reversa) {
+		if (limite < 1)
+			throw new IllegalArgumentException();
+		lineas = new ArbolRojinegro<>();
+		this.limite = limite;
+		this.reversa = reversa;
+		/* Las primeras en reversa y las últimas en orden son las mayores. */
+		mayores = primeras == reversa;
+	}
+
+	@Override public void agrega(char[] linea) {
+		agrega(new Linea(linea));
+	}
+
+	/* Agrega una línea si queda entre las que se guardan. Los empates se
+	resuelven como en el árbol completo, donde una línea queda antes que las
+	iguales que se agregaron antes que ella. */
+	@Override public void agrega(Linea l) {
+		if (peor != null) {
+			int c = l.compareTo(peor);
+			if (mayores ? c <= 0 : c > 0)
+				return;
+			if (mayores)
+				lineas.eliminaMinimo();
+			else
+				lineas.eliminaMaximo();
+		}
+		lineas.agrega(l);
+		if (lineas.getElementos() == limite)
+			peor = mayores ? lineas.iterator().next() : 
+				lineas.iteradorInverso().next();
+	}
+
+	@Override public boolean esVacio() {
+		return lineas.esVacia();
+	}
+
+	@Override public int altura() {
+		return lineas.altura();
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		return Mezcla.recorrido(lineas, reversa);
+	}
+}
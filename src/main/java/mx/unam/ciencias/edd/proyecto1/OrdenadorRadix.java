@@ -0,0 +1,168 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.PilaArreglo;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Ordenador por radix de la cifra más significativa sobre la llave del caso
+uno. Las líneas se guardan en el orden en que llegan; al recorrerlo se
+reparten por cubetas según el caracter de su llave en cada posición, de
+izquierda a derecha, sin compararlas. Sólo los rangos pequeños y las líneas
+con la misma llave, que se desempatan con los casos dos y tres, se ordenan
+comparándolas: los rangos por inserción y las llaves iguales en un árbol
+rojinegro. Ninguno de los dos supone que el orden de las líneas sea
+transitivo, que no lo es con tabuladores y espacios. Todo el ordenamiento es
+estable, así que los empates quedan igual que en el árbol rojinegro. */
+public class OrdenadorRadix implements Ordenador {
+
+	/* Los rangos con menos líneas se ordenan comparándolas. */
+	private static final int CORTE = 32;
+	/* El número de cubetas: una para las llaves que ya terminaron, y una por
+	cada número y letra minúscula, que son los únicos caracteres de las
+	llaves. */
+	private static final int CUBETAS = 1 + 10 + 26;
+	/* La cubeta de cada caracter de las llaves, en el orden de los
+	caracteres. */
+	private static final int[] CUBETA = new int[128];
+
+	static {
+		for (char c = '0'; c <= '9'; c++)
+			CUBETA[c] = 1 + c - '0';
+		for (char c = 'a'; c <= 'z'; c++)
+			CUBETA[c] = 11 + c - 'a';
+	}
+
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* Las líneas en el orden en que se agregaron. */
+	private ColaArreglo<Linea> lineas;
+	/* El número de líneas agregadas. */
+	private int elementos;
+	/* Las líneas ordenadas, o null si aún no se ordenan. */
+	private Linea[] ordenadas;
+
+	public OrdenadorRadix(boolean reversa) {
+		this.reversa = reversa;
+		lineas = new ColaArreglo<>();
+	}
+
+	@Override public void agrega(char[] linea) {
+		agrega(new Linea(linea));
+	}
+
+	@Override public void agrega(Linea linea) {
+		lineas.mete(linea);
+		elementos++;
+	}
+
+	@Override public boolean esVacio() {
+		return elementos == 0;
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		return iterator(0);
+	}
+
+	/* Ordena las líneas la primera vez que se recorre, y empieza
+	directamente en la línea con el índice recibido. */
+	@Override public Iterator<Linea> iterator(int desde) {
+		ordena();
+		if (desde >= ordenadas.length)
+			return Collections.emptyIterator();
+		return new Iterator<Linea>() {
+			private int i = desde;
+			@Override public boolean hasNext() {
+				return i < ordenadas.length;
+			}
+			@Override public Linea next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int k = i++;
+				return ordenadas[reversa ? ordenadas.length - 1 - k : k];
+			}
+		};
+	}
+
+	/* Método auxiliar que ordena las líneas agregadas. Cada rango pendiente
+	se guarda en una pila con su inicio, su fin y la posición de la llave
+	que le toca, en lugar de usar recursión, porque las llaves pueden ser tan
+	largas como las líneas. */
+	private void ordena() {
+		if (ordenadas != null)
+			return;
+		Linea[] a = new Linea[elementos];
+		lineas.drena(a);
+		/* En el árbol los empates quedan del más reciente al más antiguo;
+		como el ordenamiento es estable, basta con invertir la entrada. */
+		for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+			Linea t = a[i];
+			a[i] = a[j];
+			a[j] = t;
+		}
+		Linea[] auxiliar = new Linea[a.length];
+		int[] cuenta = new int[CUBETAS + 1];
+		PilaArreglo<int[]> rangos = new PilaArreglo<>();
+		rangos.mete(new int[] { 0, a.length, 0 });
+		while (!rangos.esVacia()) {
+			int[] rango = rangos.saca();
+			int inicio = rango[0], fin = rango[1], d = rango[2];
+			if (fin - inicio < CORTE) {
+				insercion(a, inicio, fin);
+				continue;
+			}
+			Arrays.fill(cuenta, 0);
+			for (int i = inicio; i < fin; i++)
+				cuenta[cubeta(a[i], d) + 1]++;
+			for (int c = 0; c < CUBETAS; c++)
+				cuenta[c + 1] += cuenta[c];
+			/* Después de repartir, cuenta[c] es el fin de la cubeta c. */
+			for (int i = inicio; i < fin; i++)
+				auxiliar[cuenta[cubeta(a[i], d)]++] = a[i];
+			System.arraycopy(auxiliar, 0, a, inicio, fin - inicio);
+			/* Las llaves que terminaron son todas iguales, y se desempatan
+			con los demás casos. */
+			if (cuenta[0] > 1)
+				arbol(a, inicio, inicio + cuenta[0]);
+			for (int c = 1; c < CUBETAS; c++)
+				if (cuenta[c] - cuenta[c - 1] > 1)
+					rangos.mete(new int[] { inicio + cuenta[c - 1], 
+											inicio + cuenta[c], d + 1 });
+		}
+		ordenadas = a;
+		lineas = null;
+	}
+
+	/* Método auxiliar que ordena por inserción un rango del arreglo. */
+	private static void insercion(Linea[] a, int inicio, int fin) {
+		for (int i = inicio + 1; i < fin; i++) {
+			Linea linea = a[i];
+			int j = i;
+			for (; j > inicio && a[j - 1].compareTo(linea) > 0; j--)
+				a[j] = a[j - 1];
+			a[j] = linea;
+		}
+	}
+
+	/* Método auxiliar que ordena un rango del arreglo en un árbol rojinegro.
+	El rango está invertido, así que se agrega de atrás para adelante, en el
+	orden en que llegaron las líneas. */
+	private static void arbol(Linea[] a, int inicio, int fin) {
+		ArbolRojinegro<Linea> arbol = new ArbolRojinegro<>();
+		for (int i = fin - 1; i >= inicio; i--)
+			arbol.agrega(a[i]);
+		int i = inicio;
+		for (Linea linea : arbol)
+			a[i++] = linea;
+	}
+
+	/* Método auxiliar que regresa la cubeta de una línea según el caracter
+	de su llave en la posición recibida. */
+	private static int cubeta(Linea linea, int d) {
+		byte[] llave = linea.llave();
+		return d < llave.length ? CUBETA[llave[d]] : 0;
+	}
+}
@@ -0,0 +1,59 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import mx.unam.ciencias.edd.MulticonjuntoRojinegro;
+import java.util.Iterator;
+
+/* Ordenador que guarda cada línea distinta una sola vez, con el número de
+veces que apareció. Dos líneas son la misma si se comparan iguales; de cada
+grupo se muestra la primera que se leyó. */
+public class OrdenadorUnico implements Ordenador {
+
+	/* Multiconjunto con las líneas distintas y su multiplicidad. */
+	private MulticonjuntoRojinegro<Linea> lineas;
+	/* Si las líneas se regresan en reversa. */
+	private boolean reversa;
+	/* Si cada línea se regresa precedida del número de veces que apareció. */
+	private boolean cuenta;
+
+	public OrdenadorUnico(boolean reversa, boolean cuenta) {
+		lineas = new MulticonjuntoRojinegro<>();
+		this.reversa = reversa;
+		this.cuenta = cuenta;
+	}
+
+	@Override public void agrega(char[] linea) {
+		agrega(new Linea(linea));
+	}
+
+	@Override public void agrega(Linea linea) {
+		lineas.agrega(linea);
+	}
+
+	@Override public boolean esVacio() {
+		return lineas.esVacia();
+	}
+
+	@Override public int altura() {
+		return lineas.altura();
+	}
+
+	@Override public Iterator<Linea> iterator() {
+		if (!cuenta)
+			return Mezcla.recorrido(lineas, reversa);
+		/* La multiplicidad se lee del vértice que se recorre; buscar cada
+		línea otra vez puede fallar si el orden no es transitivo. */
+		MulticonjuntoRojinegro<Linea>.IteradorMultiplicidades iterador =
+			lineas.iteradorMultiplicidades(reversa);
+		/* Con la cuenta, el número va alineado a la derecha como en uniq -c. */
+		return new Iterator<Linea>() {
+			@Override public boolean hasNext() {
+				return iterador.hasNext();
+			}
+			@Override public Linea next() {
+				Linea l = iterador.next();
+				return new Linea(String.format("%7d %s", 
+											   iterador.getMultiplicidad(), l.get()));
+			}
+		};
+	}
+}
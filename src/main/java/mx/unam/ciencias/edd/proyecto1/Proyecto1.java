@@ -1,27 +1,25 @@
 package mx.unam.ciencias.edd.proyecto1;
 
-import mx.unam.ciencias.edd.ArbolRojinegro;
-import mx.unam.ciencias.edd.Pila;
-import mx.unam.ciencias.edd.Cola;
+import mx.unam.ciencias.edd.ColaArreglo;
 import java.io.IOException;
-import java.io.FileInputStream;
+import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.BufferedReader;
-import java.io.BufferedWriter; 
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 
 public class Proyecto1 {
 
 	public static void main (String[] args) {
 
 		/* Cola para guardar temporalmente los archivos pasados como parámetros*/
-		Cola<String> archivos = new Cola<>();
-		/* Árbol rojinegro con las lineas a ordenar. El árbol permanece ordenado
-		cada vez que una línea nueva se agrega. */
-		ArbolRojinegro<Linea> lineas = new ArbolRojinegro<>();
-		/* Pila para imprimir las lineas en reversa si es el caso. */
-		Pila<Linea> pila = new Pila<>();
+		ColaArreglo<String> archivos = new ColaArreglo<>();
 		/* Ésta cadena tendrá el nombre del archivo de salida, si existe. */
 		String salida = null; 
 		/* Para la bandera 'r'. */
@@ -32,10 +30,79 @@ public class Proyecto1 {
 		como el archivo de salida, salvo en el caso en el cual el archivo de salida
 		se pasa en la misma cadena que la bandera.*/
 		boolean auxiliar = false; 
+		/* Para la opción '--memoria': el número máximo de líneas en memoria. */
+		int memoria = 0;
+		/* Para la bandera 'j': el número de hilos. */
+		int hilos = 1;
+		/* Para la bandera 'u': cada línea distinta se muestra una vez. */
+		boolean unicas = false;
+		/* Para la bandera 'c': como 'u', pero con el número de apariciones. */
+		boolean cuenta = false;
+		/* Para la opción '--arreglo': el árbol se guarda en arreglos. */
+		boolean arreglo = false;
+		/* Para la opción '--primeros': cuántas líneas se muestran del principio. */
+		int primeros = 0;
+		/* Para la opción '--ultimos': cuántas líneas se muestran del final. */
+		int ultimos = 0;
+		/* Para la opción '--desde-linea': la primera línea que se muestra. */
+		int desde = 1;
+		/* Para la opción '--hasta-linea': la última línea que se muestra. */
+		int hasta = Integer.MAX_VALUE;
+		/* Para la opción '--lectores': el número de hilos que leen archivos. */
+		int lectores = 1;
+		/* Para la opción '--bufer': el tamaño en bytes del buffer de salida. */
+		int bufer = Escritor.TAMANO;
+		/* Para la opción '--algoritmo': 'arbol' o 'radix'. */
+		String algoritmo = "arbol";
+		/* Para la opción '--indice': el archivo de índice que se actualiza. */
+		String indice = null;
+		/* Para la opción '--estadisticas': se cuentan y muestran al final. */
+		Estadisticas estadisticas = null;
+		/* Auxiliar para que cuando se reciba una opción con argumento, distinta 
+		de 'o', se guarde lo que sigue como su argumento. */
+		String opcion = null;
 
 		for (String s: args) {
-			if (!auxiliar) { 
-				if (s.contains("-o")) {
+			if (opcion != null) {
+				if (opcion.equals("--memoria"))
+					memoria = entero(s, opcion);
+				else if (opcion.equals("--primeros"))
+					primeros = entero(s, opcion);
+				else if (opcion.equals("--ultimos"))
+					ultimos = entero(s, opcion);
+				else if (opcion.equals("--desde-linea"))
+					desde = entero(s, opcion);
+				else if (opcion.equals("--hasta-linea"))
+					hasta = entero(s, opcion);
+				else if (opcion.equals("--lectores"))
+					lectores = entero(s, opcion);
+				else if (opcion.equals("--algoritmo"))
+					algoritmo = s;
+				else if (opcion.equals("--indice"))
+					indice = s;
+				else if (opcion.equals("--bufer"))
+					bufer = (int) Math.min(Integer.MAX_VALUE, 1024L * entero(s, opcion));
+				else 
+					hilos = entero(s, opcion);
+				opcion = null;
+			} else if (!auxiliar) { 
+				if (s.equals("--memoria") || s.equals("--bufer") || s.equals("-j") ||
+					s.equals("--primeros") || s.equals("--ultimos") ||
+					s.equals("--desde-linea") || s.equals("--hasta-linea") ||
+					s.equals("--lectores") || s.equals("--algoritmo") ||
+					s.equals("--indice"))
+					opcion = s;
+				else if (s.equals("--arreglo"))
+					arreglo = true;
+				else if (s.equals("--estadisticas"))
+					estadisticas = new Estadisticas();
+				else if (s.equals("-u"))
+					unicas = true;
+				else if (s.equals("-c"))
+					cuenta = true;
+				else if (s.startsWith("-j"))
+					hilos = entero(s.substring(2), "-j");
+				else if (s.contains("-o")) {
 					guarda = true;
 					if (s.equals("-o"))
 						auxiliar = true;
@@ -57,62 +124,115 @@ public class Proyecto1 {
 				auxiliar = false;	
 			}
 		}
+		if (opcion != null) {
+			System.out.printf("La opción '%s' requiere un argumento.\n", opcion);
+			System.exit(1);
+		}
+		if (!algoritmo.equals("arbol") && !algoritmo.equals("radix")) {
+			System.out.println("La opción '--algoritmo' requiere 'arbol' o 'radix'.");
+			System.exit(1);
+		}
+		boolean radix = algoritmo.equals("radix");
+		/* Sólo se puede elegir una forma de ordenar. */
+		int formas = (memoria > 0 ? 1 : 0) + (hilos > 1 ? 1 : 0) + 
+			(unicas || cuenta ? 1 : 0) + (arreglo ? 1 : 0) + 
+			(primeros > 0 ? 1 : 0) + (ultimos > 0 ? 1 : 0) + (radix ? 1 : 0);
+		if (formas > 1) {
+			System.out.println("Sólo se puede usar una de las opciones '--memoria', " +
+							   "'-j', 'u' o 'c', '--arreglo', '--primeros', " +
+							   "'--ultimos' y '--algoritmo radix'.");
+			System.exit(1);
+		}
+		/* El índice guarda todas las líneas, así que no se puede combinar con
+		las formas que descartan algunas. */
+		if (indice != null && (unicas || cuenta || primeros > 0 || ultimos > 0)) {
+			System.out.println("La opción '--indice' no se puede usar con 'u', " +
+							   "'c', '--primeros' ni '--ultimos'.");
+			System.exit(1);
+		}
 
-		/* Leemos los archivos de entrada que guardamos en la cola de archivos. */
-		while (!archivos.esVacia()) {
-			String s = archivos.saca();		
+		/* Si hay límite de memoria, ordenamos por bloques en disco; si hay
+		varios hilos, por particiones en paralelo; si sólo queremos las líneas
+		distintas, en un multiconjunto; si sólo queremos las primeras o las
+		últimas, en un árbol acotado; con radix, en un arreglo que se ordena al
+		final. Si no, en un solo árbol, de vértices o sobre arreglos. Con un
+		índice, las líneas nuevas se ordenan así, en orden, y luego se mezclan
+		con las del índice. */
+		boolean invierte = reversa && indice == null;
+		Ordenador lineas;
+		if (unicas || cuenta)
+			lineas = new OrdenadorUnico(invierte, cuenta);
+		else if (memoria > 0)
+			lineas = new OrdenadorExterno(memoria, invierte);
+		else if (hilos > 1)
+			lineas = new OrdenadorParalelo(hilos, invierte);
+		else if (primeros > 0)
+			lineas = new OrdenadorPrimeros(primeros, true, invierte);
+		else if (ultimos > 0)
+			lineas = new OrdenadorPrimeros(ultimos, false, invierte);
+		else if (radix)
+			lineas = new OrdenadorRadix(invierte);
+		else if (arreglo)
+			lineas = new OrdenadorArreglo(invierte);
+		else 
+			lineas = new OrdenadorArbol(invierte);
+		OrdenadorIndice ordenadorIndice = null;
+		if (indice != null)
+			lineas = ordenadorIndice = new OrdenadorIndice(indice, lineas, reversa);
+
+		/* Leemos los archivos de entrada que guardamos en la cola de archivos; 
+		con varios lectores, en paralelo. */
+		Ingesta ingesta = new Ingesta(archivos, lectores);
+		while (ingesta.hayArchivo()) {
+			String s = ingesta.archivo();
 			try {
-        	    FileInputStream fileIn = new FileInputStream(s);
-        	    InputStreamReader isIn = new InputStreamReader(fileIn);
-        	  	BufferedReader in = new BufferedReader(isIn);
-				String linea = in.readLine();
-				while (linea != null) {
-					lineas.agrega(new Linea(linea));
-					linea = in.readLine();
-				}
-        	    in.close();
+				ingesta.agrega(lineas);
         	} catch (IOException e) {
             	System.out.printf("No se pudo cargar el archivo \"%s\" \n", s);
             	System.exit(1);
         	}
 		}
 
-		/* Si el árbol es vacío, leemos de la entrada estándar. */
-		if (lineas.esVacia()) {
+		/* Si no se leyó ninguna línea, leemos de la entrada estándar. */
+		if (lineas.esVacio()) {
 			try {
-				InputStreamReader isIn = new InputStreamReader(System.in);
+				InputStreamReader isIn = new InputStreamReader(
+					Estadisticas.cuenta(System.in));
 				BufferedReader in = new BufferedReader(isIn);
-				String linea = in.readLine();
-				while (linea != null) {
-					lineas.agrega(new Linea(linea));
-					linea = in.readLine();
-				}
+				Ingesta.leeLineas(in, lineas);
         	    in.close();
 			} catch (IOException e) {
 				System.out.println("Error de entrada estandar.");
 				System.exit(1);		
 			}
 		}
+		if (estadisticas != null)
+			estadisticas.termina("lectura");
 
-		/* Si queremos mostrar las lineas en reversa usamos la pila. */
-		if (reversa)
-			lineas.dfsInOrder(v -> pila.mete(v.get()));
+		/* Si es el caso, mezclamos las líneas nuevas con las del índice. */
+		if (ordenadorIndice != null) {
+			try {
+				ordenadorIndice.actualiza();
+			} catch (IOException | UncheckedIOException e) {
+				System.out.printf("No se pudo actualizar el índice \"%s\".\n", indice);
+				System.exit(1);
+			}
+			if (estadisticas != null)
+				estadisticas.termina("indice");
+		}
 
 		/* Si es el caso, guardamos en el archivo de salida. */
 		if (guarda) {
 			try {
-            	FileOutputStream fileOut = new FileOutputStream(salida);
-            	OutputStreamWriter osOut = new OutputStreamWriter(fileOut);
-            	BufferedWriter out = new BufferedWriter(osOut);
-				if (reversa) {
-					while (!pila.esVacia())
-						out.write(pila.saca().get()+"\n");
-				} else {
-					for (Linea l: lineas) 
-						out.write(l.get()+"\n");
-				}
-            	out.close();
-        	} catch (IOException e) {
+				FileChannel canal = FileChannel.open(Paths.get(salida), 
+													 StandardOpenOption.WRITE,
+													 StandardOpenOption.CREATE,
+													 StandardOpenOption.TRUNCATE_EXISTING);
+				Escritor out = new Escritor(canal, Charset.defaultCharset(), 
+											"\n", bufer);
+				escribe(lineas, desde, hasta, out);
+				out.cierra();
+        	} catch (IOException | UncheckedIOException e) {
             	System.out.printf("No pude guardar en el archivo \"%s\".\n", salida);
             	System.exit(1);
         	} catch (NullPointerException e) {
@@ -120,14 +240,50 @@ public class Proyecto1 {
             	System.exit(1);
 			}
 		} else {
-			/* Si no, imprimimos el texto ordenado en pantalla. */
-			if (reversa) {
-				while (!pila.esVacia())
-					System.out.println(pila.saca().get());
-			} else {
-				for (Linea l: lineas) 
-					System.out.println(l.get());
-			} 
+			/* Si no, imprimimos el texto ordenado en pantalla, con el mismo
+			juego de caracteres y fin de línea que System.out. */
+			String juego = System.getProperty("sun.stdout.encoding");
+			Escritor out = new Escritor(Channels.newChannel(
+											new FileOutputStream(FileDescriptor.out)),
+										juego != null ? Charset.forName(juego) : 
+										Charset.defaultCharset(), 
+										System.lineSeparator(), bufer);
+			try {
+				escribe(lineas, desde, hasta, out);
+				out.vacia();
+			} catch (UncheckedIOException e) {
+				System.out.println("No se pudieron mezclar los bloques temporales.");
+				System.exit(1);
+			} catch (IOException e) {
+				/* Igual que System.out, ignoramos que la salida estándar se 
+				cierre antes de tiempo, como al usar head. */
+			}
 		}
+		if (estadisticas != null) {
+			estadisticas.termina("escritura");
+			estadisticas.imprime(lineas);
+		}
+	}
+
+	/* Escribe las líneas ordenadas, de la línea desde a la línea hasta 
+	(contando desde uno). */
+	private static void escribe(Ordenador lineas, int desde, int hasta, 
+								Escritor out) throws IOException {
+		Iterator<Linea> iterador = lineas.iterator(desde - 1);
+		for (long i = desde; i <= hasta && iterador.hasNext(); i++)
+			out.escribe(iterador.next());
+	}
+
+	/* Convierte el argumento de una opción en un entero positivo; si no
+	se puede, termina el programa. */
+	private static int entero(String s, String opcion) {
+		try {
+			int n = Integer.parseInt(s);
+			if (n > 0)
+				return n;
+		} catch (NumberFormatException e) {}
+		System.out.printf("La opción '%s' requiere un entero positivo.\n", opcion);
+		System.exit(1);
+		return 0;
 	}
 }
@@ -0,0 +1,12 @@
+package mx.unam.ciencias.edd.proyecto1;
+
+import java.io.IOException;
+
+/* Interfaz para lo que recibe las líneas que se leen, una por una: los
+ordenadores, o las lecturas que las juntan por lotes. */
+public interface Receptor {
+
+	/* Recibe una línea leída. El arreglo pasa a ser del receptor y no se
+	debe modificar después. */
+	public void agrega(char[] linea) throws IOException;
+}
@@ -0,0 +1,173 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Linea}: la comparación con
+ * llaves y tablas debe dar exactamente lo mismo que la comparación original,
+ * caracter por caracter y recursiva.
+ */
+public class TestLinea {
+
+    /* La comparación original de las líneas, sin cambios salvo que recibe
+     * los caracteres y regresa el resultado; sirve de referencia. */
+    private static class Original {
+
+        /* Los casos de comparación. */
+        private enum Caso { UNO, DOS, TRES }
+
+        /* Arreglo con letras con acentos que no queremos tener. */
+        private static final char[] arr1 =
+            {'á','é','í','ó','ú','Á','É','Í','Ó','Ú','ñ','Ñ','ü','Ü'};
+        /* Arreglo con las letras que usaremos para remplazar a las
+         * anteriores. */
+        private static final char[] arr2 =
+            {'a','e','i','o','u','A','E','I','O','U','n','N','u','U'};
+
+        /* Compara dos cadenas como la versión original de Linea. */
+        public static int compara(char[] a, char[] b) {
+            return compara(a, b, 0, 0, Caso.UNO);
+        }
+
+        /* Método auxiliar recursivo de la comparación. */
+        private static int compara(char[] a, char[] b, int it1, int it2,
+                                   Caso caso) {
+            if (a.length == it1 && b.length == it2) {
+                switch (caso) {
+                    case UNO:
+                        return compara(a, b, 0, 0, Caso.DOS);
+                    case DOS:
+                        return compara(a, b, 0, 0, Caso.TRES);
+                    default:
+                        return 0;
+                }
+            } else if (a.length == it1)
+                return -1;
+            else if (b.length == it2)
+                return 1;
+            char[] actual = { sinAcentos(a[it1]), sinAcentos(b[it2]) };
+            int[] auxiliares = new int[2];
+            for (int k = 0; k < 2; k++) {
+                if (caso != Caso.DOS)
+                    auxiliares[k] = convierteMinuscula(actual[k]);
+                else
+                    auxiliares[k] = (int) actual[k];
+            }
+            if (auxiliares[0] == auxiliares[1] || (caso != Caso.TRES ?
+                    (!caracterComparable(auxiliares[0]) &&
+                     !caracterComparable(auxiliares[1])) : false))
+                return compara(a, b, it1 + 1, it2 + 1, caso);
+            else if (caso != Caso.TRES ?
+                     !caracterComparable(auxiliares[0]) : false)
+                return compara(a, b, it1 + 1, it2, caso);
+            else if (caso != Caso.TRES ?
+                     !caracterComparable(auxiliares[1]) : false)
+                return compara(a, b, it1, it2 + 1, caso);
+            int s = auxiliares[0] - auxiliares[1];
+            if (caso == Caso.DOS || auxiliares[0] == ' ' ||
+                auxiliares[1] == ' ')
+                s = -s;
+            return s;
+        }
+
+        /* Quita el acento de un caracter. */
+        private static char sinAcentos(char c) {
+            char s = c;
+            for (int i = 0; i < arr1.length; i++)
+                if (s == arr1[i])
+                    s = arr2[i];
+            return s;
+        }
+
+        /* Nos dice si el caracter es un número o una letra. */
+        private static boolean caracterComparable(int c) {
+            return ('0' <= c && c <= '9') || ('A' <= c && c <= 'Z') ||
+                ('a' <= c && c <= 'z');
+        }
+
+        /* Convierte una mayúscula a minúscula. */
+        private static int convierteMinuscula(char c) {
+            return 'A' <= c && c <= 'Z' ? c + 32 : c;
+        }
+    }
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestLinea() {
+        random = new Random(0);
+    }
+
+    /* Regresa una cadena al azar con los caracteres recibidos. */
+    private String cadena(String caracteres, int maximo) {
+        StringBuilder sb = new StringBuilder();
+        int n = random.nextInt(maximo + 1);
+        for (int i = 0; i < n; i++)
+            sb.append(caracteres.charAt(random.nextInt(caracteres.length())));
+        return sb.toString();
+    }
+
+    /* Compara pares de cadenas al azar con las dos implementaciones. Las
+     * cadenas del par se parecen: la segunda es la primera con un cambio, así
+     * que muchas empatan en el caso uno o en el dos. */
+    private void compara(String caracteres, int pares) {
+        for (int i = 0; i < pares; i++) {
+            String a = cadena(caracteres, 8);
+            String b;
+            switch (random.nextInt(3)) {
+                case 0:
+                    b = cadena(caracteres, 8);
+                    break;
+                case 1:
+                    b = a + cadena(caracteres, 2);
+                    break;
+                default:
+                    char[] c = a.toCharArray();
+                    if (c.length > 0)
+                        c[random.nextInt(c.length)] =
+                            caracteres.charAt(random.nextInt(caracteres.length()));
+                    b = new String(c);
+            }
+            int esperado = Original.compara(a.toCharArray(), b.toCharArray());
+            Assert.assertEquals("\"" + a + "\" con \"" + b + "\"", esperado,
+                                new Linea(a).compareTo(new Linea(b)));
+            Assert.assertEquals(esperado,
+                                new Linea(a.toCharArray())
+                                .compareTo(new Linea(b.toCharArray())));
+        }
+    }
+
+    /**
+     * Prueba unitaria con letras con y sin acentos, mayúsculas y números.
+     */
+    @Test public void testAcentosYMayusculas() {
+        compara("aAeEiIoOuUnNáÁéÉíÍóÓúÚñÑüÜzZ09", 200000);
+    }
+
+    /**
+     * Prueba unitaria con signos de puntuación y caracteres fuera de las
+     * tablas, que nunca son comparables.
+     */
+    @Test public void testPuntuacion() {
+        compara("aAá1.,;-_!¿?()ßçłÆ€ ", 200000);
+    }
+
+    /**
+     * Prueba unitaria con tabuladores y espacios, que invierten el signo en
+     * el caso tres.
+     */
+    @Test public void testTabuladoresYEspacios() {
+        compara("aA1 \t .\t", 200000);
+    }
+}
@@ -0,0 +1,108 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import mx.unam.ciencias.edd.proyecto1.Mezcla;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link Mezcla}.
+ */
+public class TestMezcla {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestMezcla() {
+        random = new Random(0);
+    }
+
+    /* Regresa n líneas al azar con los caracteres recibidos. */
+    private List<String> lineas(int n, String caracteres) {
+        List<String> lineas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            int m = random.nextInt(7);
+            for (int j = 0; j < m; j++)
+                sb.append(caracteres.charAt(random.nextInt(caracteres.length())));
+            lineas.add(sb.toString());
+        }
+        return lineas;
+    }
+
+    /* Mezcla las líneas partidas en bloques de tamaño bloque, cada uno
+     * ordenado en un árbol, y regresa el resultado. */
+    private List<String> mezcla(List<String> lineas, int bloque,
+                                boolean reversa) {
+        Mezcla mezcla = new Mezcla(reversa);
+        for (int i = 0; i < lineas.size(); i += bloque) {
+            ArbolRojinegro<Linea> arbol = new ArbolRojinegro<>();
+            for (String s : lineas.subList(i, Math.min(i + bloque, lineas.size())))
+                arbol.agrega(new Linea(s));
+            mezcla.agrega(Mezcla.recorrido(arbol, reversa));
+        }
+        List<String> r = new ArrayList<>();
+        while (mezcla.hasNext()) {
+            r.add(mezcla.next().get());
+            Assert.assertTrue(r.size() <= lineas.size());
+        }
+        return r;
+    }
+
+    /* Regresa las líneas ordenadas en un solo árbol. */
+    private List<String> ordena(List<String> lineas, boolean reversa) {
+        ArbolRojinegro<Linea> arbol = new ArbolRojinegro<>();
+        for (String s : lineas)
+            arbol.agrega(new Linea(s));
+        List<String> r = new ArrayList<>();
+        Iterator<Linea> i = Mezcla.recorrido(arbol, reversa);
+        while (i.hasNext())
+            r.add(i.next().get());
+        return r;
+    }
+
+    /**
+     * Prueba unitaria para {@link Mezcla#next}: con un orden transitivo la
+     * mezcla es igual a ordenar todas las líneas en un solo árbol, empates
+     * incluidos.
+     */
+    @Test public void testMezcla() {
+        List<String> lineas = lineas(3000, "aAbB1áÁ-");
+        for (int bloque : new int[] { 1, 7, 100, 5000 }) {
+            Assert.assertEquals(ordena(lineas, false),
+                                mezcla(lineas, bloque, false));
+            Assert.assertEquals(ordena(lineas, true),
+                                mezcla(lineas, bloque, true));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Mezcla#next} con tabuladores y espacios,
+     * con los que el orden de las líneas no es transitivo: la mezcla debe
+     * terminar y regresar cada línea una vez.
+     */
+    @Test public void testMezclaNoTransitiva() {
+        List<String> lineas = lineas(14000, "\t aAb1 \t");
+        List<String> esperadas = new ArrayList<>(lineas);
+        Collections.sort(esperadas);
+        for (boolean reversa : new boolean[] { false, true }) {
+            List<String> r = mezcla(lineas, 100, reversa);
+            Collections.sort(r);
+            Assert.assertEquals(esperadas, r);
+        }
+    }
+}
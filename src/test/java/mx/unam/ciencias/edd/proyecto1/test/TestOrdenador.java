@@ -0,0 +1,132 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorArbol;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase abstracta para pruebas unitarias de los ordenadores: cada ordenador
+ * debe dejar las líneas igual que el árbol rojinegro cuando su orden es
+ * transitivo, y terminar con todas las líneas cuando no lo es.
+ */
+public abstract class TestOrdenador {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /** Generador de números aleatorios. */
+    protected Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestOrdenador() {
+        random = new Random(0);
+    }
+
+    /**
+     * Crea el ordenador que se prueba.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    protected abstract Ordenador nuevo(boolean reversa);
+
+    /**
+     * Ordena las líneas con el ordenador que se prueba. Por omisión las
+     * agrega todas y lo recorre.
+     * @param lineas las líneas a ordenar.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return las líneas ordenadas.
+     * @throws Exception si el ordenador falla.
+     */
+    protected List<String> ordena(List<String> lineas, boolean reversa)
+        throws Exception {
+        Ordenador ordenador = nuevo(reversa);
+        for (String s : lineas)
+            ordenador.agrega(s.toCharArray());
+        return recorre(ordenador, lineas.size());
+    }
+
+    /**
+     * Recorre un ordenador; falla si regresa más líneas de las esperadas.
+     * @param ordenador el ordenador a recorrer.
+     * @param n el número de líneas esperadas.
+     * @return las líneas del ordenador.
+     */
+    protected static List<String> recorre(Ordenador ordenador, int n) {
+        List<String> r = new ArrayList<>();
+        for (Linea linea : ordenador) {
+            r.add(linea.get());
+            Assert.assertTrue(r.size() <= n);
+        }
+        return r;
+    }
+
+    /**
+     * Compara el resultado del ordenador con el del árbol rojinegro. Por
+     * omisión deben ser iguales, empates incluidos.
+     * @param esperadas las líneas como las deja el árbol rojinegro.
+     * @param obtenidas las líneas como las deja el ordenador.
+     */
+    protected void comparaOrden(List<String> esperadas, List<String> obtenidas) {
+        Assert.assertEquals(esperadas, obtenidas);
+    }
+
+    /**
+     * Regresa líneas al azar con los caracteres recibidos.
+     * @param n el número de líneas.
+     * @param caracteres los caracteres de las líneas.
+     * @return las líneas.
+     */
+    protected List<String> lineas(int n, String caracteres) {
+        List<String> lineas = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            StringBuilder sb = new StringBuilder();
+            int m = random.nextInt(7);
+            for (int j = 0; j < m; j++)
+                sb.append(caracteres.charAt(random.nextInt(caracteres.length())));
+            lineas.add(sb.toString());
+        }
+        return lineas;
+    }
+
+    /**
+     * Prueba unitaria con un orden transitivo: el resultado es igual al del
+     * árbol rojinegro, empates incluidos.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testOrdena() throws Exception {
+        List<String> lineas = lineas(5000, "aAbB1áÁ-");
+        for (boolean reversa : new boolean[] { false, true }) {
+            Ordenador arbol = new OrdenadorArbol(reversa);
+            for (String s : lineas)
+                arbol.agrega(s.toCharArray());
+            comparaOrden(recorre(arbol, lineas.size()), ordena(lineas, reversa));
+        }
+    }
+
+    /**
+     * Prueba unitaria con tabuladores y espacios, con los que el orden de las
+     * líneas no es transitivo: el ordenador debe terminar y regresar cada
+     * línea una vez.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testOrdenaNoTransitivo() throws Exception {
+        List<String> lineas = lineas(14000, "\t aAb1 \t");
+        List<String> esperadas = new ArrayList<>(lineas);
+        Collections.sort(esperadas);
+        for (boolean reversa : new boolean[] { false, true }) {
+            List<String> r = ordena(lineas, reversa);
+            Collections.sort(r);
+            Assert.assertEquals(esperadas, r);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.Arrays;
+import java.util.List;
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorArbol;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorArbol}.
+ */
+public class TestOrdenadorArbol extends TestOrdenador {
+
+    /**
+     * Crea un ordenador con el árbol rojinegro.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorArbol(reversa);
+    }
+
+    /**
+     * Prueba unitaria que fija el resultado con tabuladores y espacios. Las
+     * tres líneas forman un ciclo: "a" &lt; "  a" &lt; "\t\ta" &lt; "a". Cada
+     * línea busca su lugar junto a la anterior, así que "\t\ta" sólo se
+     * compara con "a" y queda antes de ella; bajando desde la raíz quedaría
+     * al final, después de "  a".
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testDedoNoTransitivo() throws Exception {
+        List<String> lineas = Arrays.asList("  a", "a", "\t\ta");
+        Assert.assertEquals(Arrays.asList("\t\ta", "a", "  a"),
+                            ordena(lineas, false));
+        Assert.assertEquals(Arrays.asList("  a", "a", "\t\ta"),
+                            ordena(lineas, true));
+    }
+}
@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorArreglo;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorArreglo}.
+ */
+public class TestOrdenadorArreglo extends TestOrdenador {
+
+    /**
+     * Crea un ordenador con el árbol rojinegro sobre arreglos.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorArreglo(reversa);
+    }
+}
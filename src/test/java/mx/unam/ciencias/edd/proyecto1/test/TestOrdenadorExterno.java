@@ -0,0 +1,20 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorExterno;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorExterno}.
+ */
+public class TestOrdenadorExterno extends TestOrdenador {
+
+    /**
+     * Crea un ordenador con bloques de 500 líneas, así que las pruebas
+     * mezclan varios bloques en disco.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorExterno(500, reversa);
+    }
+}
@@ -0,0 +1,174 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorArbol;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorIndice;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorIndice}.
+ */
+public class TestOrdenadorIndice extends TestOrdenador {
+
+    /** Directorio para los archivos de índice. */
+    @Rule public TemporaryFolder directorio = new TemporaryFolder();
+
+    /**
+     * Crea un ordenador sobre un índice nuevo.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return nuevo(new File(directorio.getRoot(), "nuevo").getPath(), reversa);
+    }
+
+    /* Crea un ordenador sobre el índice recibido. */
+    private OrdenadorIndice nuevo(String archivo, boolean reversa) {
+        return new OrdenadorIndice(archivo, new OrdenadorArbol(false), reversa);
+    }
+
+    /**
+     * Ordena las líneas en tres actualizaciones del mismo índice.
+     * @param lineas las líneas a ordenar.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return las líneas ordenadas.
+     * @throws Exception si el ordenador falla.
+     */
+    @Override protected List<String> ordena(List<String> lineas,
+                                            boolean reversa)
+        throws Exception {
+        File archivo = new File(directorio.getRoot(), "indice" + reversa);
+        OrdenadorIndice indice = null;
+        int n = lineas.size();
+        for (int p = 0; p < 3; p++) {
+            indice = nuevo(archivo.getPath(), reversa);
+            for (String s : lineas.subList(n * p / 3, n * (p + 1) / 3))
+                indice.agrega(s.toCharArray());
+            indice.actualiza();
+        }
+        Assert.assertFalse(new File(archivo.getPath() + ".tmp").exists());
+        return recorre(indice, n);
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenadorIndice#iterator(int)}: empieza en
+     * cualquier línea, en orden y en reversa, dentro o fuera de un bloque.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testIteradorDesde() throws Exception {
+        List<String> lineas = lineas(1000, "aAbB1áÁ-");
+        for (boolean reversa : new boolean[] { false, true }) {
+            List<String> todas = ordena(lineas, reversa);
+            OrdenadorIndice indice = nuevo(new File(directorio.getRoot(),
+                                                    "indice" + reversa).getPath(),
+                                           reversa);
+            /* Un índice sin líneas nuevas sólo vuelve a escribir el mismo. */
+            indice.actualiza();
+            for (int desde : new int[] { 0, 1, 63, 64, 65, 500, 999, 1000, 2000 }) {
+                List<String> r = new ArrayList<>();
+                Iterator<Linea> i = indice.iterator(desde);
+                while (i.hasNext())
+                    r.add(i.next().get());
+                Assert.assertEquals(todas.subList(Math.min(desde, todas.size()),
+                                                  todas.size()), r);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenadorIndice#actualiza} con un archivo
+     * que no es un índice: falla y lo deja igual.
+     * @throws Exception si no se puede escribir el archivo.
+     */
+    @Test public void testActualizaInvalido() throws Exception {
+        File archivo = directorio.newFile();
+        Files.write(archivo.toPath(), "hola\n".getBytes(StandardCharsets.UTF_8));
+        OrdenadorIndice indice = nuevo(archivo.getPath(), false);
+        indice.agrega("a".toCharArray());
+        try {
+            indice.actualiza();
+            Assert.fail();
+        } catch (IOException ioe) {}
+        Assert.assertEquals("hola\n", new String(Files.readAllBytes(archivo.toPath()),
+                                                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Prueba unitaria para líneas que no son ASCII: salen igual que entraron,
+     * y si el índice se vuelve a escribir sus bytes no cambian.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testBytes() throws Exception {
+        List<String> lineas = Arrays.asList("árbol", "ñandú", "€uro", "a\uD83D\uDE00b",
+                                            "", "zeta", "ÁRBOL");
+        File archivo = new File(directorio.getRoot(), "bytes");
+        OrdenadorIndice indice = nuevo(archivo.getPath(), false);
+        for (String s : lineas)
+            indice.agrega(s.toCharArray());
+        indice.actualiza();
+        byte[] antes = Files.readAllBytes(archivo.toPath());
+        List<String> r = recorre(indice, lineas.size());
+        List<String> esperadas = new ArrayList<>(lineas);
+        esperadas.sort((a, b) -> new Linea(a).compareTo(new Linea(b)));
+        Assert.assertEquals(esperadas, r);
+        indice = nuevo(archivo.getPath(), false);
+        indice.actualiza();
+        Assert.assertArrayEquals(antes, Files.readAllBytes(archivo.toPath()));
+        Assert.assertEquals(esperadas, recorre(indice, lineas.size()));
+    }
+
+    /**
+     * Prueba unitaria para {@link OrdenadorIndice#actualiza} cuando las
+     * líneas nuevas fallan a la mitad de la mezcla: el índice no cambia y el
+     * archivo temporal se borra.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testActualizaFalla() throws Exception {
+        File archivo = new File(directorio.getRoot(), "falla");
+        List<String> lineas = lineas(500, "aAbB1áÁ-");
+        OrdenadorIndice indice = nuevo(archivo.getPath(), false);
+        for (String s : lineas)
+            indice.agrega(s.toCharArray());
+        indice.actualiza();
+        byte[] antes = Files.readAllBytes(archivo.toPath());
+        Ordenador falla = new Ordenador() {
+            @Override public void agrega(char[] linea) {}
+            @Override public boolean esVacio() {
+                return false;
+            }
+            @Override public Iterator<Linea> iterator() {
+                return new Iterator<Linea>() {
+                    private int n;
+                    @Override public boolean hasNext() {
+                        return true;
+                    }
+                    @Override public Linea next() {
+                        if (++n > 100)
+                            throw new UncheckedIOException(new IOException());
+                        return new Linea("m");
+                    }
+                };
+            }
+        };
+        indice = new OrdenadorIndice(archivo.getPath(), falla, false);
+        try {
+            indice.actualiza();
+            Assert.fail();
+        } catch (UncheckedIOException uioe) {}
+        Assert.assertFalse(new File(archivo.getPath() + ".tmp").exists());
+        Assert.assertArrayEquals(antes, Files.readAllBytes(archivo.toPath()));
+    }
+}
@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorParalelo;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorParalelo}.
+ */
+public class TestOrdenadorParalelo extends TestOrdenador {
+
+    /**
+     * Crea un ordenador con cuatro hilos.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorParalelo(4, reversa);
+    }
+}
@@ -0,0 +1,96 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorArbol;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorPrimeros;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorPrimeros}. Las
+ * pruebas de {@link TestOrdenador} se hacen con las primeras líneas; el
+ * resultado debe ser el principio del que deja el árbol rojinegro.
+ */
+public class TestOrdenadorPrimeros extends TestOrdenador {
+
+    /* El número de líneas que se guardan. */
+    private static final int LIMITE = 700;
+
+    /**
+     * Crea un ordenador que guarda las primeras líneas.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorPrimeros(LIMITE, true, reversa);
+    }
+
+    /**
+     * Compara el resultado con las primeras líneas del árbol rojinegro.
+     * @param esperadas las líneas como las deja el árbol rojinegro.
+     * @param obtenidas las líneas como las deja el ordenador.
+     */
+    @Override protected void comparaOrden(List<String> esperadas,
+                                          List<String> obtenidas) {
+        Assert.assertEquals(esperadas.subList(0, LIMITE), obtenidas);
+    }
+
+    /**
+     * Prueba unitaria con tabuladores y espacios: el ordenador debe terminar
+     * y regresar tantas líneas como el límite, todas de la entrada.
+     * @throws Exception si el ordenador falla.
+     */
+    @Override @Test public void testOrdenaNoTransitivo() throws Exception {
+        List<String> lineas = lineas(14000, "\t aAb1 \t");
+        for (boolean reversa : new boolean[] { false, true }) {
+            List<String> r = ordena(lineas, reversa);
+            Assert.assertEquals(LIMITE, r.size());
+            List<String> restantes = new ArrayList<>(lineas);
+            for (String s : r)
+                Assert.assertTrue(restantes.remove(s));
+        }
+    }
+
+    /**
+     * Prueba unitaria para las últimas líneas: el resultado es el final del
+     * que deja el árbol rojinegro, y si hay menos líneas que el límite
+     * regresa todas.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testUltimas() throws Exception {
+        for (int n : new int[] { 5000, LIMITE / 2 }) {
+            List<String> lineas = lineas(n, "aAbB1áÁ-");
+            for (boolean reversa : new boolean[] { false, true }) {
+                Ordenador arbol = new OrdenadorArbol(reversa);
+                Ordenador ultimas = new OrdenadorPrimeros(LIMITE, false, reversa);
+                for (String s : lineas) {
+                    arbol.agrega(s.toCharArray());
+                    ultimas.agrega(s.toCharArray());
+                }
+                List<String> esperadas = recorre(arbol, n);
+                esperadas = esperadas.subList(Math.max(0, n - LIMITE), n);
+                Assert.assertEquals(esperadas, recorre(ultimas, LIMITE));
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria con líneas ya ordenadas y en orden inverso, en las que
+     * cada línea nueva desaloja a otra o ninguna.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testOrdenadas() throws Exception {
+        List<String> lineas = lineas(5000, "ab1");
+        Ordenador arbol = new OrdenadorArbol(false);
+        for (String s : lineas)
+            arbol.agrega(s.toCharArray());
+        List<String> ordenadas = recorre(arbol, lineas.size());
+        List<String> inversas = new ArrayList<>(ordenadas);
+        Collections.reverse(inversas);
+        comparaOrden(ordenadas, ordena(ordenadas, false));
+        comparaOrden(ordenadas, ordena(inversas, false));
+    }
+}
@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorRadix;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorRadix}.
+ */
+public class TestOrdenadorRadix extends TestOrdenador {
+
+    /**
+     * Crea un ordenador por radix.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorRadix(reversa);
+    }
+}
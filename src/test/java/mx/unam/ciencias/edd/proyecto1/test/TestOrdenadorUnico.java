@@ -0,0 +1,104 @@
+package mx.unam.ciencias.edd.proyecto1.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import mx.unam.ciencias.edd.proyecto1.Linea;
+import mx.unam.ciencias.edd.proyecto1.Ordenador;
+import mx.unam.ciencias.edd.proyecto1.OrdenadorUnico;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link OrdenadorUnico}. Las pruebas
+ * de {@link TestOrdenador} se hacen con la cuenta de cada línea, repitiendo
+ * cada línea tantas veces como apareció.
+ */
+public class TestOrdenadorUnico extends TestOrdenador {
+
+    /**
+     * Crea un ordenador con la cuenta de cada línea.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return el ordenador nuevo.
+     */
+    @Override protected Ordenador nuevo(boolean reversa) {
+        return new OrdenadorUnico(reversa, true);
+    }
+
+    /**
+     * Ordena las líneas y repite cada una tantas veces como dice su cuenta.
+     * @param lineas las líneas a ordenar.
+     * @param reversa si las líneas se regresan en reversa.
+     * @return las líneas ordenadas.
+     * @throws Exception si el ordenador falla.
+     */
+    @Override protected List<String> ordena(List<String> lineas,
+                                            boolean reversa) throws Exception {
+        List<String> r = new ArrayList<>();
+        for (String s : super.ordena(lineas, reversa)) {
+            int n = cuenta(s);
+            for (int i = 0; i < n; i++)
+                r.add(s.substring(8));
+        }
+        return r;
+    }
+
+    /**
+     * De cada grupo de líneas iguales el ordenador guarda la primera que se
+     * leyó, así que sólo se pide que cada línea se compare igual a la del
+     * árbol rojinegro.
+     * @param esperadas las líneas como las deja el árbol rojinegro.
+     * @param obtenidas las líneas como las deja el ordenador.
+     */
+    @Override protected void comparaOrden(List<String> esperadas,
+                                          List<String> obtenidas) {
+        Assert.assertEquals(esperadas.size(), obtenidas.size());
+        for (int i = 0; i < esperadas.size(); i++)
+            Assert.assertEquals(0, new Linea(esperadas.get(i))
+                                .compareTo(new Linea(obtenidas.get(i))));
+    }
+
+    /**
+     * Regresa la cuenta de una línea con el formato de <code>-c</code>.
+     * @param linea la línea con su cuenta.
+     * @return la cuenta de la línea.
+     */
+    private static int cuenta(String linea) {
+        return Integer.parseInt(linea.substring(0, 7).trim());
+    }
+
+    /**
+     * Prueba unitaria para las cuentas con tabuladores y espacios: ninguna
+     * cuenta es cero y todas suman el número de líneas leídas.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testCuentaNoTransitivo() throws Exception {
+        List<String> lineas = lineas(14000, "\t aA \t");
+        for (boolean reversa : new boolean[] { false, true }) {
+            Ordenador ordenador = nuevo(reversa);
+            for (String s : lineas)
+                ordenador.agrega(s.toCharArray());
+            int total = 0;
+            for (String s : recorre(ordenador, lineas.size())) {
+                int n = cuenta(s);
+                Assert.assertTrue(n > 0);
+                total += n;
+            }
+            Assert.assertEquals(lineas.size(), total);
+        }
+    }
+
+    /**
+     * Prueba unitaria sin la cuenta: cada línea distinta sale una sola vez.
+     * @throws Exception si el ordenador falla.
+     */
+    @Test public void testUnico() throws Exception {
+        List<String> lineas = lineas(2000, "ab");
+        Ordenador ordenador = new OrdenadorUnico(false, false);
+        for (String s : lineas)
+            ordenador.agrega(s.toCharArray());
+        List<String> r = recorre(ordenador, lineas.size());
+        for (int i = 1; i < r.size(); i++)
+            Assert.assertTrue(new Linea(r.get(i - 1))
+                              .compareTo(new Linea(r.get(i))) < 0);
+    }
+}
@@ -0,0 +1,131 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import mx.unam.ciencias.edd.ArbolBinarioOrdenado;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de los divisores de la clase {@link
+ * ArbolBinarioOrdenado}, con un orden que no es transitivo.
+ */
+public class TestArbolBinarioOrdenado {
+
+    /* Clase para elementos como en piedra, papel o tijera: si sus tipos son
+     * distintos, el orden es cíclico; si son iguales, se comparan por su
+     * número. Así el orden no es transitivo, como el de las líneas con
+     * tabuladores y espacios. */
+    private static class Piedra implements Comparable<Piedra> {
+
+        /* El tipo: 0, 1 o 2. */
+        private int tipo;
+        /* El número, distinto para cada elemento. */
+        private int numero;
+
+        /* Crea un elemento. */
+        public Piedra(int tipo, int numero) {
+            this.tipo = tipo;
+            this.numero = numero;
+        }
+
+        /* El tipo 0 es menor que el 1, el 1 menor que el 2 y el 2 menor que
+         * el 0. */
+        @Override public int compareTo(Piedra piedra) {
+            if (tipo == piedra.tipo)
+                return Integer.compare(numero, piedra.numero);
+            return (tipo + 1) % 3 == piedra.tipo ? -1 : 1;
+        }
+    }
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestArbolBinarioOrdenado() {
+        random = new Random(0);
+    }
+
+    /* Regresa un árbol con n elementos al azar. */
+    private ArbolBinarioOrdenado<Piedra> arbol(int n, boolean rojinegro) {
+        ArbolBinarioOrdenado<Piedra> arbol = rojinegro ?
+            new ArbolRojinegro<>() : new ArbolBinarioOrdenado<>();
+        for (int i = 0; i < n; i++)
+            arbol.agrega(new Piedra(random.nextInt(3), i));
+        return arbol;
+    }
+
+    /* Regresa los números de los elementos del árbol, en orden. */
+    private static List<Integer> numeros(ArbolBinarioOrdenado<Piedra> arbol) {
+        List<Integer> numeros = new ArrayList<>();
+        for (Piedra p : arbol)
+            numeros.add(p.numero);
+        return numeros;
+    }
+
+    /* Parte al divisor hasta que ya no se pueda, y agrega los números de la
+     * parte izquierda antes que los de la derecha. */
+    private static void parte(Spliterator<Piedra> divisor,
+                              List<Integer> numeros) {
+        Spliterator<Piedra> izquierdo = divisor.trySplit();
+        if (izquierdo != null) {
+            parte(izquierdo, numeros);
+            parte(divisor, numeros);
+        } else
+            divisor.forEachRemaining(p -> numeros.add(p.numero));
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolBinarioOrdenado#spliterator}: aunque
+     * se recorran algunos elementos antes de partirlo, las partes recorren
+     * cada elemento una sola vez y en el orden del iterador.
+     */
+    @Test public void testDivisor() {
+        for (int i = 0; i < 200; i++) {
+            ArbolBinarioOrdenado<Piedra> arbol = arbol(1 + random.nextInt(300),
+                                                       i % 2 == 0);
+            List<Integer> esperados = numeros(arbol);
+            List<Integer> numeros = new ArrayList<>();
+            Spliterator<Piedra> divisor = arbol.spliterator();
+            int k = random.nextInt(esperados.size());
+            for (int j = 0; j < k; j++)
+                Assert.assertTrue(divisor.tryAdvance(p -> numeros.add(p.numero)));
+            parte(divisor, numeros);
+            Assert.assertEquals(esperados, numeros);
+        }
+    }
+
+    /**
+     * Prueba unitaria para el flujo paralelo de {@link ArbolBinarioOrdenado}:
+     * cuenta y junta los mismos elementos que tiene el árbol.
+     */
+    @Test public void testFlujoParalelo() {
+        for (int i = 0; i < 50; i++) {
+            ArbolBinarioOrdenado<Piedra> arbol = arbol(random.nextInt(5000),
+                                                       i % 2 == 0);
+            Assert.assertEquals(arbol.getElementos(),
+                                arbol.parallelStream().count());
+            List<Integer> esperados = numeros(arbol);
+            List<Integer> numeros = arbol.parallelStream()
+                .map(p -> p.numero).collect(Collectors.toList());
+            Assert.assertEquals(esperados, numeros);
+            Collections.sort(esperados);
+            List<Integer> todos = new ArrayList<>();
+            for (int j = 0; j < arbol.getElementos(); j++)
+                todos.add(j);
+            Assert.assertEquals(todos, esperados);
+        }
+    }
+}
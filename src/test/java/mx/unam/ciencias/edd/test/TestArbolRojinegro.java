@@ -0,0 +1,107 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegro;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de los métodos por índice de la clase {@link
+ * ArbolRojinegro}: {@link ArbolRojinegro#selecciona}, {@link
+ * ArbolRojinegro#rango} y {@link ArbolRojinegro#iteradorDesde}.
+ */
+public class TestArbolRojinegro {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El árbol. */
+    private ArbolRojinegro<Integer> arbol;
+    /* Los mismos elementos que el árbol, ordenados. */
+    private List<Integer> lista;
+
+    /**
+     * Crea un generador de números aleatorios y un árbol con elementos
+     * repetidos, y elimina algunos para que los tamaños de los subárboles
+     * también se actualicen al eliminar.
+     */
+    public TestArbolRojinegro() {
+        random = new Random(0);
+        arbol = new ArbolRojinegro<>();
+        lista = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int e = random.nextInt(1000);
+            arbol.agrega(e);
+            lista.add(e);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Integer e = lista.remove(random.nextInt(lista.size()));
+            arbol.elimina(e);
+        }
+        Collections.sort(lista);
+    }
+
+    /* Regresa el número de elementos de la lista menores que el recibido. */
+    private int rango(int elemento) {
+        int r = 0;
+        while (r < lista.size() && lista.get(r) < elemento)
+            r++;
+        return r;
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#selecciona}.
+     */
+    @Test public void testSelecciona() {
+        Assert.assertEquals(lista.size(), arbol.getElementos());
+        for (int i = 0; i < lista.size(); i++)
+            Assert.assertEquals(lista.get(i), arbol.selecciona(i));
+        try {
+            arbol.selecciona(-1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            arbol.selecciona(lista.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#rango}, con elementos que
+     * están en el árbol y que no están.
+     */
+    @Test public void testRango() {
+        for (int e = -1; e <= 1000; e++)
+            Assert.assertEquals(rango(e), arbol.rango(e));
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegro#iteradorDesde}, en orden y
+     * en orden inverso.
+     */
+    @Test public void testIteradorDesde() {
+        for (int k = 0; k < 50; k++) {
+            int i = random.nextInt(lista.size());
+            Iterator<Integer> iterador = arbol.iteradorDesde(i, false);
+            for (int j = i; j < lista.size(); j++)
+                Assert.assertEquals(lista.get(j), iterador.next());
+            Assert.assertFalse(iterador.hasNext());
+            iterador = arbol.iteradorDesde(i, true);
+            for (int j = i; j >= 0; j--)
+                Assert.assertEquals(lista.get(j), iterador.next());
+            Assert.assertFalse(iterador.hasNext());
+        }
+        try {
+            arbol.iteradorDesde(lista.size(), false);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+}
@@ -0,0 +1,151 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegroArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ArbolRojinegroArreglo}.
+ */
+public class TestArbolRojinegroArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El árbol. */
+    private ArbolRojinegroArreglo<Integer> arbol;
+
+    /**
+     * Crea un árbol vacío para cada prueba.
+     */
+    public TestArbolRojinegroArreglo() {
+        random = new Random(0);
+        arbol = new ArbolRojinegroArreglo<Integer>();
+    }
+
+    /* Compara el árbol con la lista ordenada de referencia. */
+    private static void valida(ArbolRojinegroArreglo<Integer> arbol,
+                               List<Integer> referencia) {
+        Assert.assertEquals(referencia.size(), arbol.getElementos());
+        Assert.assertEquals(referencia.isEmpty(), arbol.esVacia());
+        List<Integer> elementos = new ArrayList<>();
+        for (Integer i : arbol)
+            elementos.add(i);
+        Assert.assertEquals(referencia, elementos);
+        elementos.clear();
+        Iterator<Integer> inverso = arbol.iteradorInverso();
+        while (inverso.hasNext())
+            elementos.add(inverso.next());
+        Collections.reverse(elementos);
+        Assert.assertEquals(referencia, elementos);
+        /* Un árbol rojinegro con n elementos tiene altura a lo más
+         * 2 log(n + 1), y al menos la de un árbol completo. */
+        int n = referencia.size();
+        int altura = arbol.altura();
+        if (n == 0) {
+            Assert.assertEquals(-1, altura);
+            return;
+        }
+        Assert.assertTrue(altura >= 31 - Integer.numberOfLeadingZeros(n));
+        Assert.assertTrue(altura <= 2 * Math.log(n + 1) / Math.log(2));
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroArreglo#agrega} y {@link
+     * ArbolRojinegroArreglo#elimina}, con elementos repetidos, contra una
+     * lista ordenada de referencia.
+     */
+    @Test public void testAgregaElimina() {
+        List<Integer> referencia = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int e = random.nextInt(200);
+            if (random.nextInt(3) < 2) {
+                arbol.agrega(e);
+                int k = Collections.binarySearch(referencia, e);
+                referencia.add(k < 0 ? -k - 1 : k, e);
+            } else {
+                arbol.elimina(e);
+                referencia.remove((Integer) e);
+            }
+            if (i % 100 == 0)
+                valida(arbol, referencia);
+        }
+        valida(arbol, referencia);
+        while (!referencia.isEmpty()) {
+            Integer e = referencia.get(random.nextInt(referencia.size()));
+            arbol.elimina(e);
+            referencia.remove(e);
+        }
+        valida(arbol, referencia);
+        try {
+            arbol.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroArreglo#contiene}.
+     */
+    @Test public void testContiene() {
+        for (int i = 0; i < 500; i += 2)
+            arbol.agrega(i);
+        for (int i = 0; i < 500; i++)
+            Assert.assertEquals(i % 2 == 0, arbol.contiene(i));
+        for (int i = 0; i < 500; i += 4)
+            arbol.elimina(i);
+        for (int i = 0; i < 500; i++)
+            Assert.assertEquals(i % 4 == 2, arbol.contiene(i));
+    }
+
+    /**
+     * Prueba unitaria para los iteradores en orden y en reversa de {@link
+     * ArbolRojinegroArreglo}, con un árbol vacío y con elementos ordenados.
+     */
+    @Test public void testIteradores() {
+        Assert.assertFalse(arbol.iterator().hasNext());
+        Assert.assertFalse(arbol.iteradorInverso().hasNext());
+        try {
+            arbol.iterator().next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        List<Integer> referencia = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            arbol.agrega(i);
+            referencia.add(i);
+        }
+        valida(arbol, referencia);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroArreglo#limpia} y el
+     * constructor a partir de una colección.
+     */
+    @Test public void testLimpiaCopia() {
+        List<Integer> referencia = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int e = random.nextInt(50);
+            arbol.agrega(e);
+            referencia.add(e);
+        }
+        Collections.sort(referencia);
+        ArbolRojinegroArreglo<Integer> copia =
+            new ArbolRojinegroArreglo<Integer>(arbol);
+        valida(copia, referencia);
+        arbol.limpia();
+        valida(arbol, new ArrayList<Integer>());
+        valida(copia, referencia);
+        arbol.agrega(7);
+        Assert.assertTrue(arbol.contiene(7));
+        Assert.assertEquals(1, arbol.getElementos());
+    }
+}
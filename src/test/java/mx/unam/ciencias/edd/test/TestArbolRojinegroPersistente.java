@@ -0,0 +1,215 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import mx.unam.ciencias.edd.ArbolRojinegroPersistente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link
+ * ArbolRojinegroPersistente}.
+ */
+public class TestArbolRojinegroPersistente {
+
+    /* Clase para elementos que se comparan por su clave, pero que sólo son
+     * iguales si también tienen el mismo número; así se ve el orden de los
+     * empates. */
+    private static class Par implements Comparable<Par> {
+
+        /* La clave. */
+        private int clave;
+        /* El número. */
+        private int numero;
+
+        /* Crea un par. */
+        public Par(int clave, int numero) {
+            this.clave = clave;
+            this.numero = numero;
+        }
+
+        /* Compara por la clave. */
+        @Override public int compareTo(Par par) {
+            return Integer.compare(clave, par.clave);
+        }
+
+        /* Dos pares son iguales si su clave y su número son iguales. */
+        @Override public boolean equals(Object objeto) {
+            if (!(objeto instanceof Par))
+                return false;
+            Par par = (Par) objeto;
+            return clave == par.clave && numero == par.numero;
+        }
+
+        /* Regresa un código hash con la clave y el número. */
+        @Override public int hashCode() {
+            return 31 * clave + numero;
+        }
+
+        /* Regresa el par como cadena. */
+        @Override public String toString() {
+            return clave + ":" + numero;
+        }
+    }
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestArbolRojinegroPersistente() {
+        random = new Random(0);
+    }
+
+    /* Regresa el índice del primer elemento de la lista que no es menor
+     * que el recibido. */
+    private static int rango(List<Par> lista, Par par) {
+        int i = 0;
+        while (i < lista.size() && lista.get(i).compareTo(par) < 0)
+            i++;
+        return i;
+    }
+
+    /* Compara una versión del árbol con su lista de referencia. */
+    private static void valida(ArbolRojinegroPersistente<Par> arbol,
+                               List<Par> referencia) {
+        Assert.assertEquals(referencia.size(), arbol.getElementos());
+        Assert.assertEquals(referencia.isEmpty(), arbol.esVacia());
+        List<Par> elementos = new ArrayList<>();
+        for (Par par : arbol)
+            elementos.add(par);
+        Assert.assertEquals(referencia, elementos);
+        elementos.clear();
+        Iterator<Par> inverso = arbol.iteradorInverso();
+        while (inverso.hasNext())
+            elementos.add(inverso.next());
+        Collections.reverse(elementos);
+        Assert.assertEquals(referencia, elementos);
+        for (int i = 0; i < referencia.size(); i++) {
+            Par par = referencia.get(i);
+            Assert.assertEquals(par, arbol.selecciona(i));
+            Assert.assertEquals(rango(referencia, par), arbol.rango(par));
+            Assert.assertTrue(arbol.contiene(par));
+        }
+        try {
+            arbol.selecciona(referencia.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            arbol.selecciona(-1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroPersistente#agrega} y {@link
+     * ArbolRojinegroPersistente#elimina} contra una lista de referencia: los
+     * elementos nuevos quedan antes que los iguales, y todas las versiones
+     * anteriores siguen igual.
+     */
+    @Test public void testVersiones() {
+        List<ArbolRojinegroPersistente<Par>> versiones = new ArrayList<>();
+        List<List<Par>> referencias = new ArrayList<>();
+        ArbolRojinegroPersistente<Par> arbol =
+            new ArbolRojinegroPersistente<Par>();
+        List<Par> referencia = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            if (referencia.isEmpty() || random.nextInt(3) < 2) {
+                Par par = new Par(random.nextInt(40), i);
+                arbol = arbol.agrega(par);
+                referencia.add(rango(referencia, par), par);
+            } else {
+                Par par = random.nextInt(4) == 0 ?
+                    new Par(random.nextInt(40), -1) :
+                    referencia.get(random.nextInt(referencia.size()));
+                ArbolRojinegroPersistente<Par> nuevo = arbol.elimina(par);
+                if (referencia.remove(par))
+                    Assert.assertNotSame(arbol, nuevo);
+                else
+                    Assert.assertSame(arbol, nuevo);
+                arbol = nuevo;
+            }
+            if (i % 50 == 0) {
+                versiones.add(arbol);
+                referencias.add(new ArrayList<>(referencia));
+            }
+        }
+        for (int i = 0; i < versiones.size(); i++)
+            valida(versiones.get(i), referencias.get(i));
+        valida(arbol, referencia);
+    }
+
+    /**
+     * Prueba unitaria para {@link ArbolRojinegroPersistente#contiene} y
+     * {@link ArbolRojinegroPersistente#rango} con elementos que no están.
+     */
+    @Test public void testContieneRango() {
+        ArbolRojinegroPersistente<Par> arbol =
+            new ArbolRojinegroPersistente<Par>();
+        Assert.assertFalse(arbol.contiene(new Par(0, 0)));
+        Assert.assertEquals(0, arbol.rango(new Par(0, 0)));
+        for (int i = 0; i < 100; i += 2)
+            arbol = arbol.agrega(new Par(i, i));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(i % 2 == 0, arbol.contiene(new Par(i, i)));
+            Assert.assertFalse(arbol.contiene(new Par(i, -1)));
+            Assert.assertEquals((i + 1) / 2, arbol.rango(new Par(i, -1)));
+        }
+        Assert.assertEquals(50, arbol.rango(new Par(1000, 0)));
+        try {
+            arbol.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para recorrer una misma versión en varios hilos
+     * mientras otro hilo crea versiones nuevas.
+     * @throws InterruptedException si se interrumpe la espera de los hilos.
+     */
+    @Test public void testHilos() throws InterruptedException {
+        ArbolRojinegroPersistente<Par> arbol =
+            new ArbolRojinegroPersistente<Par>();
+        List<Par> referencia = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Par par = new Par(random.nextInt(100), i);
+            arbol = arbol.agrega(par);
+            referencia.add(rango(referencia, par), par);
+        }
+        final ArbolRojinegroPersistente<Par> version = arbol;
+        List<Throwable> errores = Collections.synchronizedList(new ArrayList<>());
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            hilos[h] = new Thread(() -> {
+                    try {
+                        for (int k = 0; k < 20; k++) {
+                            List<Par> elementos = new ArrayList<>();
+                            for (Par par : version)
+                                elementos.add(par);
+                            Assert.assertEquals(referencia, elementos);
+                        }
+                    } catch (Throwable t) {
+                        errores.add(t);
+                    }
+                });
+            hilos[h].start();
+        }
+        for (int i = 0; i < 2000; i++)
+            arbol = arbol.elimina(arbol.selecciona(random.nextInt(
+                                                       arbol.getElementos())))
+                .agrega(new Par(random.nextInt(100), -i));
+        for (Thread hilo : hilos)
+            hilo.join();
+        Assert.assertEquals(Collections.emptyList(), errores);
+        valida(version, referencia);
+    }
+}
@@ -0,0 +1,135 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ColaArreglo}.
+ */
+public class TestColaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* La cola. */
+    private ColaArreglo<Integer> cola;
+
+    /**
+     * Crea una cola vacía para cada prueba.
+     */
+    public TestColaArreglo() {
+        random = new Random(0);
+        cola = new ColaArreglo<Integer>();
+    }
+
+    /* Compara la cola con la de referencia sin modificarlas. */
+    private void valida(ArrayDeque<Integer> referencia) {
+        Assert.assertEquals(referencia.size(), cola.getElementos());
+        Assert.assertEquals(referencia.isEmpty(), cola.esVacia());
+        if (!referencia.isEmpty())
+            Assert.assertEquals(referencia.peekFirst(), cola.mira());
+        StringBuilder sb = new StringBuilder();
+        for (Integer i : referencia)
+            sb.append(i).append(",");
+        Assert.assertEquals(sb.toString(), cola.toString());
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#mete} y {@link
+     * ColaArreglo#saca}, contra una cola de referencia, pasando varias veces
+     * por el final del arreglo y haciéndolo crecer.
+     */
+    @Test public void testMeteSaca() {
+        ArrayDeque<Integer> referencia = new ArrayDeque<>();
+        for (int i = 0; i < 5000; i++) {
+            if (referencia.isEmpty() || random.nextInt(5) < 3) {
+                int n = random.nextInt(1000);
+                cola.mete(n);
+                referencia.addLast(n);
+            } else
+                Assert.assertEquals(referencia.pollFirst(), cola.saca());
+            valida(referencia);
+        }
+        while (!referencia.isEmpty())
+            Assert.assertEquals(referencia.pollFirst(), cola.saca());
+        valida(referencia);
+        try {
+            cola.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            cola.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#drena} cuando los elementos le
+     * dan la vuelta al arreglo, con arreglos más chicos y más grandes que la
+     * cola.
+     */
+    @Test public void testDrena() {
+        for (int corrimiento = 0; corrimiento < 40; corrimiento++) {
+            ColaArreglo<Integer> c = new ColaArreglo<Integer>();
+            ArrayDeque<Integer> referencia = new ArrayDeque<>();
+            for (int i = 0; i < corrimiento; i++) {
+                c.mete(-1);
+                c.saca();
+            }
+            int n = random.nextInt(40);
+            for (int i = 0; i < n; i++) {
+                c.mete(i);
+                referencia.addLast(i);
+            }
+            Integer[] destino = new Integer[random.nextInt(50)];
+            int m = c.drena(destino);
+            Assert.assertEquals(Math.min(n, destino.length), m);
+            for (int i = 0; i < m; i++)
+                Assert.assertEquals(referencia.pollFirst(), destino[i]);
+            for (int i = m; i < destino.length; i++)
+                Assert.assertNull(destino[i]);
+            Assert.assertEquals(n - m, c.getElementos());
+            c.mete(100);
+            referencia.addLast(100);
+            while (!referencia.isEmpty())
+                Assert.assertEquals(referencia.pollFirst(), c.saca());
+            Assert.assertTrue(c.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ColaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        ColaArreglo<Integer> otra = new ColaArreglo<Integer>();
+        Assert.assertTrue(cola.equals(otra));
+        /* Los mismos elementos en otra posición del arreglo. */
+        for (int i = 0; i < 10; i++) {
+            otra.mete(-1);
+            otra.saca();
+        }
+        for (int i = 0; i < 20; i++) {
+            cola.mete(i);
+            otra.mete(i);
+        }
+        Assert.assertTrue(cola.equals(otra));
+        otra.saca();
+        otra.mete(0);
+        Assert.assertFalse(cola.equals(otra));
+        Assert.assertFalse(cola.equals(null));
+        Assert.assertFalse(cola.equals(new PilaArreglo<Integer>()));
+    }
+}
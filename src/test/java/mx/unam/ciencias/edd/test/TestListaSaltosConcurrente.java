@@ -0,0 +1,210 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+import mx.unam.ciencias.edd.ListaSaltosConcurrente;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ListaSaltosConcurrente}.
+ */
+public class TestListaSaltosConcurrente {
+
+    /* Clase para elementos que se comparan por su clave, pero que sólo son
+     * iguales si también tienen el mismo número; así se ve el orden de los
+     * empates. */
+    private static class Par implements Comparable<Par> {
+
+        /* La clave. */
+        private int clave;
+        /* El número. */
+        private int numero;
+
+        /* Crea un par. */
+        public Par(int clave, int numero) {
+            this.clave = clave;
+            this.numero = numero;
+        }
+
+        /* Compara por la clave. */
+        @Override public int compareTo(Par par) {
+            return Integer.compare(clave, par.clave);
+        }
+
+        /* Dos pares son iguales si su clave y su número son iguales. */
+        @Override public boolean equals(Object objeto) {
+            if (!(objeto instanceof Par))
+                return false;
+            Par par = (Par) objeto;
+            return clave == par.clave && numero == par.numero;
+        }
+
+        /* Regresa un código hash con la clave y el número. */
+        @Override public int hashCode() {
+            return 31 * clave + numero;
+        }
+
+        /* Regresa el par como cadena. */
+        @Override public String toString() {
+            return clave + ":" + numero;
+        }
+    }
+
+    /** Expiración para que ninguna prueba tarde más de 30 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(30);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestListaSaltosConcurrente() {
+        random = new Random(0);
+    }
+
+    /* Compara la lista con la lista de referencia. */
+    private static <T extends Comparable<T>> void
+        valida(ListaSaltosConcurrente<T> lista, List<T> referencia) {
+        Assert.assertEquals(referencia.size(), lista.getElementos());
+        Assert.assertEquals(referencia.isEmpty(), lista.esVacia());
+        List<T> elementos = new ArrayList<>();
+        for (T t : lista)
+            elementos.add(t);
+        Assert.assertEquals(referencia, elementos);
+        Assert.assertEquals(referencia,
+                            lista.parallelStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Prueba unitaria para {@link ListaSaltosConcurrente#agrega}, {@link
+     * ListaSaltosConcurrente#elimina} y {@link
+     * ListaSaltosConcurrente#contiene} en un solo hilo, contra una lista de
+     * referencia: los elementos nuevos quedan antes que los iguales.
+     */
+    @Test public void testAgregaElimina() {
+        ListaSaltosConcurrente<Par> lista = new ListaSaltosConcurrente<Par>();
+        List<Par> referencia = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            if (referencia.isEmpty() || random.nextInt(3) < 2) {
+                Par par = new Par(random.nextInt(50), i);
+                lista.agrega(par);
+                int j = 0;
+                while (j < referencia.size() &&
+                       referencia.get(j).compareTo(par) < 0)
+                    j++;
+                referencia.add(j, par);
+            } else {
+                Par par = referencia.get(random.nextInt(referencia.size()));
+                Assert.assertTrue(lista.contiene(par));
+                lista.elimina(par);
+                referencia.remove(par);
+                Assert.assertFalse(lista.contiene(par));
+                /* Eliminar lo que no está no hace nada. */
+                lista.elimina(new Par(par.clave, -1));
+            }
+            if (i % 100 == 0)
+                valida(lista, referencia);
+        }
+        valida(lista, referencia);
+        ListaSaltosConcurrente<Par> copia =
+            new ListaSaltosConcurrente<Par>(lista);
+        lista.limpia();
+        valida(lista, new ArrayList<Par>());
+        Assert.assertFalse(lista.iterator().hasNext());
+        try {
+            lista.iterator().next();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        /* La copia agrega en orden, así que sus empates quedan invertidos. */
+        List<Par> invertida = new ArrayList<>();
+        for (int i = 0, j; i < referencia.size(); i = j) {
+            for (j = i; j < referencia.size() &&
+                     referencia.get(j).compareTo(referencia.get(i)) == 0; j++)
+                invertida.add(i, referencia.get(j));
+        }
+        valida(copia, invertida);
+        try {
+            lista.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria con varios hilos que agregan, eliminan y buscan sus
+     * propios elementos, intercalados con los de los demás, mientras otro
+     * hilo recorre la lista. Cada hilo debe ver siempre sus propios
+     * elementos exactamente, aunque las búsquedas pasen por nodos que otros
+     * hilos están eliminando.
+     * @throws InterruptedException si se interrumpe la espera de los hilos.
+     */
+    @Test public void testConcurrente() throws InterruptedException {
+        final int hilos = 8;
+        final int n = 20000;
+        for (int repeticion = 0; repeticion < 5; repeticion++) {
+            ListaSaltosConcurrente<Integer> lista =
+                new ListaSaltosConcurrente<Integer>();
+            List<Throwable> errores =
+                Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                final int hilo = h;
+                threads.add(new Thread(() -> {
+                        try {
+                            for (int i = 0; i < n; i++) {
+                                int e = i * hilos + hilo;
+                                lista.agrega(e);
+                                Assert.assertTrue(lista.contiene(e));
+                                if (i % 3 == 0) {
+                                    int v = (i / 2) * hilos + hilo;
+                                    lista.elimina(v);
+                                    Assert.assertFalse(lista.contiene(v));
+                                }
+                            }
+                        } catch (Throwable t) {
+                            errores.add(t);
+                        }
+                }));
+            }
+            threads.add(new Thread(() -> {
+                    try {
+                        for (int k = 0; k < 5; k++) {
+                            Integer anterior = null;
+                            for (Integer e : lista) {
+                                if (anterior != null)
+                                    Assert.assertTrue(anterior <= e);
+                                anterior = e;
+                            }
+                        }
+                    } catch (Throwable t) {
+                        errores.add(t);
+                    }
+            }));
+            for (Thread t : threads)
+                t.start();
+            for (Thread t : threads)
+                t.join();
+            Assert.assertEquals(Collections.emptyList(), errores);
+            /* Cada valor se agrega una vez, y los que se eliminan ya se
+             * habían agregado, así que quedan los que no se eliminaron. */
+            List<Integer> referencia = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                boolean[] eliminado = new boolean[n];
+                for (int i = 0; i < n; i += 3)
+                    eliminado[i / 2] = true;
+                for (int i = 0; i < n; i++)
+                    if (!eliminado[i])
+                        referencia.add(i * hilos + h);
+            }
+            Collections.sort(referencia);
+            valida(lista, referencia);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import mx.unam.ciencias.edd.MulticonjuntoRojinegro;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MulticonjuntoRojinegro}.
+ */
+public class TestMulticonjuntoRojinegro {
+
+    /** Expiración para que ninguna prueba tarde más de 10 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(10);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* El multiconjunto. */
+    private MulticonjuntoRojinegro<Integer> multiconjunto;
+    /* Cada elemento distinto con su multiplicidad. */
+    private TreeMap<Integer, Integer> multiplicidades;
+
+    /**
+     * Crea un generador de números aleatorios y un multiconjunto con muchos
+     * elementos repetidos; elimina algunas apariciones y algunos elementos
+     * completos.
+     */
+    public TestMulticonjuntoRojinegro() {
+        random = new Random(0);
+        multiconjunto = new MulticonjuntoRojinegro<>();
+        multiplicidades = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int e = random.nextInt(300);
+            multiconjunto.agrega(e);
+            multiplicidades.merge(e, 1, Integer::sum);
+        }
+        for (int i = 0; i < 2000; i++) {
+            int e = random.nextInt(300);
+            multiconjunto.elimina(e);
+            multiplicidades.computeIfPresent(e, (k, m) -> m == 1 ? null : m - 1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link MulticonjuntoRojinegro#getElementos} y
+     * {@link MulticonjuntoRojinegro#getDistintos}.
+     */
+    @Test public void testGetElementos() {
+        int total = 0;
+        for (int m : multiplicidades.values())
+            total += m;
+        Assert.assertEquals(total, multiconjunto.getElementos());
+        Assert.assertEquals(multiplicidades.size(), multiconjunto.getDistintos());
+    }
+
+    /**
+     * Prueba unitaria para {@link
+     * MulticonjuntoRojinegro#iteradorMultiplicidades}: visita cada elemento
+     * distinto una vez, con su multiplicidad, en orden y en orden inverso.
+     */
+    @Test public void testIteradorMultiplicidades() {
+        for (boolean inverso : new boolean[] { false, true }) {
+            MulticonjuntoRojinegro<Integer>.IteradorMultiplicidades iterador =
+                multiconjunto.iteradorMultiplicidades(inverso);
+            Iterable<Integer> claves = inverso ?
+                multiplicidades.descendingKeySet() : multiplicidades.keySet();
+            for (Integer e : claves) {
+                Assert.assertEquals(e, iterador.next());
+                Assert.assertEquals((int) multiplicidades.get(e),
+                                    iterador.getMultiplicidad());
+            }
+            Assert.assertFalse(iterador.hasNext());
+        }
+    }
+
+    /**
+     * Prueba unitaria para los métodos por índice: cuentan cada elemento
+     * distinto una sola vez, sin importar su multiplicidad.
+     */
+    @Test public void testIndicesDistintos() {
+        List<Integer> distintos = new ArrayList<>(multiplicidades.keySet());
+        for (int i = 0; i < distintos.size(); i++)
+            Assert.assertEquals(distintos.get(i), multiconjunto.selecciona(i));
+        try {
+            multiconjunto.selecciona(distintos.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        for (int e = -1; e <= 300; e++)
+            Assert.assertEquals(multiplicidades.headMap(e).size(),
+                                multiconjunto.rango(e));
+        int i = random.nextInt(distintos.size());
+        Iterator<Integer> iterador = multiconjunto.iteradorDesde(i, false);
+        for (int j = i; j < distintos.size(); j++)
+            Assert.assertEquals(distintos.get(j), iterador.next());
+        Assert.assertFalse(iterador.hasNext());
+    }
+}
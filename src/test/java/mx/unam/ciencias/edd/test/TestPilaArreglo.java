@@ -0,0 +1,135 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.ColaArreglo;
+import mx.unam.ciencias.edd.PilaArreglo;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link PilaArreglo}.
+ */
+public class TestPilaArreglo {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* La pila. */
+    private PilaArreglo<Integer> pila;
+
+    /**
+     * Crea una pila vacía para cada prueba.
+     */
+    public TestPilaArreglo() {
+        random = new Random(0);
+        pila = new PilaArreglo<Integer>();
+    }
+
+    /* Compara la pila con la de referencia sin modificarlas. */
+    private void valida(ArrayDeque<Integer> referencia) {
+        Assert.assertEquals(referencia.size(), pila.getElementos());
+        Assert.assertEquals(referencia.isEmpty(), pila.esVacia());
+        if (!referencia.isEmpty())
+            Assert.assertEquals(referencia.peekFirst(), pila.mira());
+        StringBuilder sb = new StringBuilder();
+        for (Integer i : referencia)
+            sb.append(i).append("\n");
+        Assert.assertEquals(sb.toString(), pila.toString());
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#mete} y {@link
+     * PilaArreglo#saca}, contra una pila de referencia, pasando varias veces
+     * por el final del arreglo y haciéndolo crecer.
+     */
+    @Test public void testMeteSaca() {
+        ArrayDeque<Integer> referencia = new ArrayDeque<>();
+        for (int i = 0; i < 5000; i++) {
+            if (referencia.isEmpty() || random.nextInt(5) < 3) {
+                int n = random.nextInt(1000);
+                pila.mete(n);
+                referencia.addFirst(n);
+            } else
+                Assert.assertEquals(referencia.pollFirst(), pila.saca());
+            valida(referencia);
+        }
+        while (!referencia.isEmpty())
+            Assert.assertEquals(referencia.pollFirst(), pila.saca());
+        valida(referencia);
+        try {
+            pila.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            pila.mira();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            pila.mete(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#drena} cuando los elementos le
+     * dan la vuelta al arreglo, con arreglos más chicos y más grandes que la
+     * pila.
+     */
+    @Test public void testDrena() {
+        for (int corrimiento = 0; corrimiento < 40; corrimiento++) {
+            PilaArreglo<Integer> c = new PilaArreglo<Integer>();
+            ArrayDeque<Integer> referencia = new ArrayDeque<>();
+            for (int i = 0; i < corrimiento; i++) {
+                c.mete(-1);
+                c.saca();
+            }
+            int n = random.nextInt(40);
+            for (int i = 0; i < n; i++) {
+                c.mete(i);
+                referencia.addFirst(i);
+            }
+            Integer[] destino = new Integer[random.nextInt(50)];
+            int m = c.drena(destino);
+            Assert.assertEquals(Math.min(n, destino.length), m);
+            for (int i = 0; i < m; i++)
+                Assert.assertEquals(referencia.pollFirst(), destino[i]);
+            for (int i = m; i < destino.length; i++)
+                Assert.assertNull(destino[i]);
+            Assert.assertEquals(n - m, c.getElementos());
+            c.mete(100);
+            referencia.addFirst(100);
+            while (!referencia.isEmpty())
+                Assert.assertEquals(referencia.pollFirst(), c.saca());
+            Assert.assertTrue(c.esVacia());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link PilaArreglo#equals}.
+     */
+    @Test public void testEquals() {
+        PilaArreglo<Integer> otra = new PilaArreglo<Integer>();
+        Assert.assertTrue(pila.equals(otra));
+        /* Los mismos elementos en otra posición del arreglo. */
+        for (int i = 0; i < 10; i++) {
+            otra.mete(-1);
+            otra.saca();
+        }
+        for (int i = 0; i < 20; i++) {
+            pila.mete(i);
+            otra.mete(i);
+        }
+        Assert.assertTrue(pila.equals(otra));
+        otra.saca();
+        otra.mete(0);
+        Assert.assertFalse(pila.equals(otra));
+        Assert.assertFalse(pila.equals(null));
+        Assert.assertFalse(pila.equals(new ColaArreglo<Integer>()));
+    }
+}